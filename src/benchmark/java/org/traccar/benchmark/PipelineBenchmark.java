@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.benchmark;
+
+import com.google.inject.Injector;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.traccar.BaseProtocol;
+import org.traccar.Main;
+import org.traccar.TrackerServer;
+import org.traccar.handler.network.AcknowledgementHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * End-to-end throughput benchmark. Boots the server components in process and replays recorded frames through the
+ * full channel pipeline, from frame decoding to the processing handlers and storage, without network sockets.
+ * <p>
+ * Options are passed as {@code --name=value}: {@code storage} ({@code memory} or {@code h2}), {@code protocols}
+ * (comma separated scenario names), {@code devices}, {@code messages} (per device and iteration), {@code warmup}
+ * and {@code iterations}.
+ */
+public final class PipelineBenchmark {
+
+    private PipelineBenchmark() {
+    }
+
+    private record Result(long frames, long positions, long nanos, long[] latencies, long allocated) {
+    }
+
+    private record Device(String uniqueId, EmbeddedChannel channel) {
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int separator = arg.indexOf('=');
+                if (separator > 0) {
+                    options.put(arg.substring(2, separator), arg.substring(separator + 1));
+                } else {
+                    options.put(arg.substring(2), "true");
+                }
+            }
+        }
+        return options;
+    }
+
+    private static Path createConfig(String storage) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("logger.console", "true");
+        properties.setProperty("logger.level", "warning");
+        properties.setProperty("database.registerUnknown", "true");
+        if (storage.equals("h2")) {
+            properties.setProperty("database.driver", "org.h2.Driver");
+            properties.setProperty("database.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+            properties.setProperty("database.user", "sa");
+            properties.setProperty("database.password", "");
+        } else {
+            properties.setProperty("database.memory", "true");
+        }
+        Path file = Files.createTempFile("benchmark", ".xml");
+        file.toFile().deleteOnExit();
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            properties.storeToXML(outputStream, null);
+        }
+        return file;
+    }
+
+    private static TrackerServer getServer(Injector injector, Scenario scenario) {
+        BaseProtocol protocol = injector.getInstance(scenario.getProtocolClass());
+        return protocol.getConnectorList().stream()
+                .filter(connector -> connector instanceof TrackerServer && !connector.isDatagram())
+                .map(TrackerServer.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static int drain(EmbeddedChannel channel) {
+        int handled = 0;
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            if (message instanceof AcknowledgementHandler.EventHandled) {
+                handled += 1;
+            } else {
+                ReferenceCountUtil.release(message);
+            }
+        }
+        while ((message = channel.readInbound()) != null) {
+            ReferenceCountUtil.release(message);
+        }
+        return handled;
+    }
+
+    private static Result run(Scenario scenario, List<Device> devices, int messages, int iteration) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[devices.size() * messages];
+        long positions = 0;
+        int frames = 0;
+
+        long allocated = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            int index = iteration * messages + i;
+            for (Device device : devices) {
+                var frame = scenario.message(device.uniqueId(), index);
+                long frameStart = System.nanoTime();
+                device.channel().writeInbound(frame);
+                device.channel().runPendingTasks();
+                latencies[frames++] = System.nanoTime() - frameStart;
+                positions += drain(device.channel());
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        allocated = threadBean.getCurrentThreadAllocatedBytes() - allocated;
+
+        return new Result(frames, positions, nanos, latencies, allocated);
+    }
+
+    private static void print(Scenario scenario, List<Result> results) {
+        long frames = 0;
+        long positions = 0;
+        long nanos = 0;
+        long allocated = 0;
+        List<long[]> samples = new ArrayList<>();
+        for (Result result : results) {
+            frames += result.frames();
+            positions += result.positions();
+            nanos += result.nanos();
+            allocated += result.allocated();
+            samples.add(result.latencies());
+        }
+        long[] latencies = samples.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = nanos / 1e9;
+
+        System.out.printf(
+                "%-10s %12.0f positions/s %12.0f frames/s   p50 %8.1f us   p99 %8.1f us"
+                + "   %8.1f MB/s %10.0f B/position%n",
+                scenario.name().toLowerCase(),
+                positions / seconds, frames / seconds,
+                percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                allocated / seconds / (1024 * 1024), positions > 0 ? (double) allocated / positions : 0.0);
+        if (positions == 0) {
+            System.out.printf("%-10s no positions processed, check decoder output%n", scenario.name().toLowerCase());
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        Locale.setDefault(Locale.ENGLISH);
+
+        Map<String, String> options = parseOptions(args);
+        String storage = options.getOrDefault("storage", "memory");
+        int deviceCount = Integer.parseInt(options.getOrDefault("devices", "100"));
+        int messages = Integer.parseInt(options.getOrDefault("messages", "100"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "3"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+
+        List<Scenario> scenarios = new ArrayList<>();
+        if (options.containsKey("protocols")) {
+            for (String name : options.get("protocols").split(",")) {
+                scenarios.add(Scenario.valueOf(name.trim().toUpperCase()));
+            }
+        } else {
+            scenarios.addAll(List.of(Scenario.values()));
+        }
+
+        Injector injector = Main.createInjector(createConfig(storage).toString());
+
+        System.out.printf("storage %s, %d devices, %d messages per device, %d warmup and %d measured iterations%n",
+                storage, deviceCount, messages, warmup, iterations);
+
+        for (Scenario scenario : scenarios) {
+            TrackerServer server = getServer(injector, scenario);
+            List<Device> devices = new ArrayList<>();
+            for (int i = 0; i < deviceCount; i++) {
+                String uniqueId = String.format("%015d", 860000000000000L + scenario.ordinal() * 1000000L + i);
+                var channel = new BenchmarkChannel(scenario.ordinal() * deviceCount + i, server.getPipelineFactory());
+                var handshake = scenario.handshake(uniqueId);
+                if (handshake != null) {
+                    channel.writeInbound(handshake);
+                    channel.runPendingTasks();
+                    drain(channel);
+                }
+                devices.add(new Device(uniqueId, channel));
+            }
+
+            for (int i = 0; i < warmup; i++) {
+                run(scenario, devices, messages, i);
+            }
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                results.add(run(scenario, devices, messages, warmup + i));
+            }
+            print(scenario, results);
+
+            for (Device device : devices) {
+                device.channel().finishAndReleaseAll();
+            }
+        }
+
+        System.exit(0);
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.traccar.BaseProtocol;
+import org.traccar.helper.DataConverter;
+import org.traccar.protocol.Gt06Protocol;
+import org.traccar.protocol.H02Protocol;
+import org.traccar.protocol.OsmAndProtocol;
+import org.traccar.protocol.TeltonikaProtocol;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Recorded device traffic replayed by the benchmark. Each scenario produces an optional identification frame sent
+ * once per connection and a data frame for every message.
+ */
+public enum Scenario {
+
+    OSMAND(OsmAndProtocol.class) {
+        @Override
+        public ByteBuf message(String uniqueId, int index) {
+            return text("GET /?id=" + uniqueId + "&lat=" + latitude(index) + "&lon=" + longitude(index)
+                    + "&timestamp=" + time(index).getEpochSecond() + "&speed=12.5&bearing=90"
+                    + " HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        }
+    },
+
+    H02(H02Protocol.class) {
+        private final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HHmmss").withZone(ZoneOffset.UTC);
+        private final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("ddMMyy").withZone(ZoneOffset.UTC);
+
+        @Override
+        public ByteBuf message(String uniqueId, int index) {
+            Instant time = time(index);
+            return text("*HQ," + uniqueId + ",V1," + timeFormat.format(time) + ",A,2235.1777,N,11357.8913,E,000.27,235,"
+                    + dateFormat.format(time) + ",FFFFFBFF#");
+        }
+    },
+
+    GT06(Gt06Protocol.class) {
+        @Override
+        public ByteBuf handshake(String uniqueId) {
+            return binary("78780d010" + uniqueId + "000100000d0a");
+        }
+
+        @Override
+        public ByteBuf message(String uniqueId, int index) {
+            return binary("787822220f0c1d023305c9027ac8180c46586000140001cc00287d001f71000001000820860d0a");
+        }
+    },
+
+    TELTONIKA(TeltonikaProtocol.class) {
+        @Override
+        public ByteBuf handshake(String uniqueId) {
+            return binary("000f" + DataConverter.printHex(uniqueId.getBytes(StandardCharsets.US_ASCII)));
+        }
+
+        @Override
+        public ByteBuf message(String uniqueId, int index) {
+            return binary("000000000000010e8e020000019769de9f9800015299f718b278040018007708000000000013000b00ef0100"
+                    + "f00000150500c80000450100010100b30000020000030000b401017c00000500b5001a00b6000c004238d40043"
+                    + "000000440000000200f10000539b00100000efc70001004e000000000000000000000000019769de5d3b000152"
+                    + "99f718b27804001800770800002c350001000000000000000000012c3500700124050f4e65766572615f330000"
+                    + "00000000000f067cd9f4110c4006020c8f0701340e020c1c24050f4e65766572615f31000000000000000f067c"
+                    + "d9f411334606020c380701340e020c2624050f4e65766572615f32000000000000000f067cd9f411464706020c"
+                    + "240701360e020c26020000a8b0");
+        }
+    };
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Class<? extends BaseProtocol> protocolClass;
+
+    Scenario(Class<? extends BaseProtocol> protocolClass) {
+        this.protocolClass = protocolClass;
+    }
+
+    public Class<? extends BaseProtocol> getProtocolClass() {
+        return protocolClass;
+    }
+
+    public ByteBuf handshake(String uniqueId) {
+        return null;
+    }
+
+    public abstract ByteBuf message(String uniqueId, int index);
+
+    protected static Instant time(int index) {
+        return START.plusSeconds(index * 10L);
+    }
+
+    protected static double latitude(int index) {
+        return 56.0 + (index % 1000) * 0.0001;
+    }
+
+    protected static double longitude(int index) {
+        return 60.0 + (index % 1000) * 0.0001;
+    }
+
+    protected static ByteBuf text(String value) {
+        return Unpooled.copiedBuffer(value, StandardCharsets.US_ASCII);
+    }
+
+    protected static ByteBuf binary(String value) {
+        return Unpooled.wrappedBuffer(DataConverter.parseHex(value));
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import io.netty.channel.Channel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.config.Config;
+import org.traccar.database.CommandsManager;
+import org.traccar.database.MediaManager;
+import org.traccar.database.StatisticsManager;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.DeviceSession;
+import org.traccar.session.cache.CacheManager;
+
+import java.lang.reflect.Constructor;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Decoding cost per protocol, using sample frames from the decoder unit tests. Primary score is time per frame and
+ * the {@code positions} secondary score is time per decoded position. Run with the {@code gc} profiler to get
+ * allocated bytes per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecoderBenchmark {
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        public long positions;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            positions = 0;
+        }
+
+    }
+
+    @Param({
+            "Teltonika", "Gt06", "H02", "OsmAnd", "Meitrack", "Tk103", "Gl200Text", "Gl200Binary", "Suntech",
+            "Ruptela", "Huabao", "Watch", "Gps103", "Xexun", "Totem", "Wialon", "Ulbotech", "Castel", "Aplicom",
+            "Galileo", "Navtelecom", "Jt600", "Meiligao", "Xirgo", "Eelink", "Atrack", "Cellocator", "T55",
+            "Startek", "Egts"})
+    public String protocol;
+
+    private BaseProtocolDecoder decoder;
+    private Object[] frames;
+    private int[] counts;
+    private int index;
+
+    private static <T> T stub(Class<T> clazz) {
+        return mock(clazz, withSettings().stubOnly());
+    }
+
+    private static BaseProtocolDecoder createDecoder(String protocol) throws ReflectiveOperationException {
+        Class<?> clazz = Class.forName("org.traccar.protocol." + protocol + "ProtocolDecoder");
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            Class<?>[] types = constructor.getParameterTypes();
+            if (types.length > 0 && types[0] == Protocol.class) {
+                Object[] arguments = new Object[types.length];
+                for (int i = 1; i < types.length; i++) {
+                    if (types[i] == boolean.class) {
+                        arguments[i] = false;
+                    } else if (types[i] == int.class) {
+                        arguments[i] = 0;
+                    }
+                }
+                return (BaseProtocolDecoder) constructor.newInstance(arguments);
+            }
+        }
+        throw new IllegalArgumentException("Decoder constructor not found for " + protocol);
+    }
+
+    private static void inject(BaseProtocolDecoder decoder) {
+        Config config = new Config();
+        decoder.setConfig(config);
+        Device device = new Device();
+        device.setId(1);
+        device.setUniqueId("123456789012345");
+        CacheManager cacheManager = stub(CacheManager.class);
+        when(cacheManager.getConfig()).thenReturn(config);
+        when(cacheManager.getObject(eq(Device.class), anyLong())).thenReturn(device);
+        decoder.setCacheManager(cacheManager);
+        DeviceSession deviceSession = new DeviceSession(
+                1L, device.getUniqueId(), null, stub(Protocol.class), stub(Channel.class), stub(SocketAddress.class));
+        ConnectionManager connectionManager = stub(ConnectionManager.class);
+        when(connectionManager.getDeviceSession(any(), any(), any(), any(String[].class))).thenReturn(deviceSession);
+        decoder.setConnectionManager(connectionManager);
+        decoder.setStatisticsManager(stub(StatisticsManager.class));
+        decoder.setMediaManager(stub(MediaManager.class));
+        decoder.setCommandsManager(stub(CommandsManager.class));
+    }
+
+    private static int countPositions(Object result) {
+        if (result instanceof Position) {
+            return 1;
+        } else if (result instanceof Collection<?> collection) {
+            return (int) collection.stream().filter(item -> item instanceof Position).count();
+        }
+        return 0;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        decoder = createDecoder(protocol);
+        inject(decoder);
+
+        Path source = Path.of(System.getProperty("benchmark.samples", "src/test/java/org/traccar/protocol"))
+                .resolve(protocol + "ProtocolDecoderTest.java");
+        List<Object> selectedFrames = new ArrayList<>();
+        List<Integer> selectedCounts = new ArrayList<>();
+        for (Object sample : ProtocolSamples.read(source)) {
+            int count;
+            try {
+                count = countPositions(decoder.decode(null, null, ProtocolSamples.copy(sample)));
+            } catch (Exception e) {
+                count = 0;
+            }
+            if (count > 0) {
+                selectedFrames.add(sample);
+                selectedCounts.add(count);
+            }
+        }
+        if (selectedFrames.isEmpty()) {
+            throw new IllegalStateException("No decodable samples for " + protocol);
+        }
+        frames = selectedFrames.toArray();
+        counts = selectedCounts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public Object decode(Counters counters) throws Exception {
+        int current = index;
+        index = current + 1 < frames.length ? current + 1 : 0;
+        counters.positions += counts[current];
+        return decoder.decode(null, null, ProtocolSamples.copy(frames[current]));
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.traccar.helper.DataConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts sample frames from protocol decoder unit tests, so benchmarks replay the same traffic the tests verify.
+ * Only samples built from string literals with {@code binary}, {@code text}, {@code buffer} or single argument
+ * {@code request} helpers are supported, other samples are skipped.
+ */
+public final class ProtocolSamples {
+
+    private static final Pattern SAMPLE = Pattern.compile(
+            "verify\\w*\\(decoder,\\s*(?:(?:true|false),\\s*)?(binary|text|buffer|request)\\(");
+
+    private ProtocolSamples() {
+    }
+
+    public static List<Object> read(Path file) throws IOException {
+        String source = Files.readString(file);
+        List<Object> samples = new ArrayList<>();
+        Matcher matcher = SAMPLE.matcher(source);
+        while (matcher.find()) {
+            String value = readLiterals(source, matcher.end());
+            if (value != null) {
+                samples.add(switch (matcher.group(1)) {
+                    case "binary" -> Unpooled.wrappedBuffer(DataConverter.parseHex(value));
+                    case "buffer" -> Unpooled.copiedBuffer(value, StandardCharsets.ISO_8859_1);
+                    case "request" -> new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, value);
+                    default -> value;
+                });
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Copy of the sample that can be consumed by a decoder without affecting later reads.
+     */
+    public static Object copy(Object sample) {
+        if (sample instanceof ByteBuf buf) {
+            return buf.duplicate();
+        }
+        return sample;
+    }
+
+    private static String readLiterals(String source, int index) {
+        StringBuilder result = new StringBuilder();
+        while (index < source.length()) {
+            char c = source.charAt(index);
+            if (c == ')') {
+                return result.toString();
+            } else if (c == ',' || c == '+' || Character.isWhitespace(c)) {
+                index += 1;
+            } else if (c == '"' && !source.startsWith("\"\"\"", index)) {
+                index = readLiteral(source, index + 1, result);
+                if (index < 0) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static int readLiteral(String source, int index, StringBuilder result) {
+        while (index < source.length()) {
+            char c = source.charAt(index++);
+            if (c == '"') {
+                return index;
+            } else if (c == '\n') {
+                return -1;
+            } else if (c != '\\') {
+                result.append(c);
+            } else if (index < source.length()) {
+                char escape = source.charAt(index++);
+                switch (escape) {
+                    case 'n' -> result.append('\n');
+                    case 'r' -> result.append('\r');
+                    case 't' -> result.append('\t');
+                    case 'b' -> result.append('\b');
+                    case 'f' -> result.append('\f');
+                    case 'u' -> {
+                        while (source.charAt(index) == 'u') {
+                            index += 1;
+                        }
+                        result.append((char) Integer.parseInt(source.substring(index, index + 4), 16));
+                        index += 4;
+                    }
+                    default -> {
+                        if (escape >= '0' && escape <= '7') {
+                            int value = escape - '0';
+                            int limit = escape <= '3' ? 2 : 1;
+                            for (int i = 0; i < limit && index < source.length(); i++) {
+                                char digit = source.charAt(index);
+                                if (digit < '0' || digit > '7') {
+                                    break;
+                                }
+                                value = value * 8 + digit - '0';
+                                index += 1;
+                            }
+                            result.append((char) value);
+                        } else {
+                            result.append(escape);
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+}
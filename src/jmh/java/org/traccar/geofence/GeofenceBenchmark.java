@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geofence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeofenceBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"16", "256", "4096"})
+    public int vertices;
+
+    private GeofenceGeometry polygon;
+    private GeofenceGeometry polyline;
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+
+    private String createWkt(String type, boolean closed) {
+        StringBuilder wkt = new StringBuilder(type);
+        wkt.append(closed ? "((" : "(");
+        for (int i = 0; i <= vertices; i++) {
+            if (i == vertices && !closed) {
+                break;
+            }
+            double angle = 2 * Math.PI * (i % vertices) / vertices;
+            double radius = 0.1 * (1 + 0.3 * Math.sin(angle * 7));
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(56 + radius * Math.cos(angle)).append(' ').append(60 + radius * Math.sin(angle));
+        }
+        wkt.append(closed ? "))" : ")");
+        return wkt.toString();
+    }
+
+    @Setup
+    public void setup() throws ParseException {
+        polygon = new GeofencePolygon(createWkt("POLYGON", true));
+        polyline = new GeofencePolyline(createWkt("LINESTRING", false), 100);
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = 56 + (random.nextDouble() - 0.5) * 0.3;
+            longitudes[i] = 60 + (random.nextDouble() - 0.5) * 0.3;
+        }
+    }
+
+    @Benchmark
+    public void polygonContains(Blackhole blackhole) {
+        for (int i = 0; i < POINTS; i++) {
+            blackhole.consume(polygon.containsPoint(latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public void polylineContains(Blackhole blackhole) {
+        for (int i = 0; i < POINTS; i++) {
+            blackhole.consume(polyline.containsPoint(latitudes[i], longitudes[i]));
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final Pattern PATTERN = new PatternBuilder()
+            .text("imei:")
+            .number("(d+),")                     // imei
+            .expression("([^,]*),")              // alarm
+            .number("(dd)(dd)(dd)")              // date (yymmdd)
+            .number("(dd)(dd)(dd),")             // time (hhmmss)
+            .expression("([AV]),")               // validity
+            .number("(d+)(dd.d+),")              // latitude
+            .expression("([NS]),")
+            .number("(d+)(dd.d+),")              // longitude
+            .expression("([EW]),")
+            .number("(d+.?d*),")                 // speed
+            .number("(d+.?d*)")                  // course
+            .any()
+            .compile();
+
+    private static final String SENTENCE =
+            "imei:864035052942928,tracker,241214083746,A,1012.63368,N,06757.59559,W,12.50,340.61;";
+
+    private final ByteBuf buffer = Unpooled.copiedBuffer(SENTENCE, StandardCharsets.US_ASCII);
+
+    private static void consume(Parser parser, Blackhole blackhole) {
+        if (parser.matches()) {
+            blackhole.consume(parser.next());
+            blackhole.consume(parser.next());
+            blackhole.consume(parser.nextDateTime());
+            blackhole.consume(parser.next());
+            blackhole.consume(parser.nextCoordinate());
+            blackhole.consume(parser.nextCoordinate());
+            blackhole.consume(parser.nextDouble());
+            blackhole.consume(parser.nextDouble());
+        }
+    }
+
+    @Benchmark
+    public void parseString(Blackhole blackhole) {
+        consume(new Parser(PATTERN, SENTENCE), blackhole);
+    }
+
+    @Benchmark
+    public void parseBuffer(Blackhole blackhole) {
+        consume(new Parser(PATTERN, buffer.duplicate()), blackhole);
+    }
+
+}
@@ -52,6 +52,7 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     private CommandsManager commandsManager;
 
     private String modelOverride;
+    private String speedKey;
 
     public BaseProtocolDecoder(Protocol protocol) {
         this.protocol = protocol;
@@ -98,6 +99,11 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         return protocol != null ? protocol.getName() : PROTOCOL_UNKNOWN;
     }
 
+    @Override
+    protected String getMetricsName() {
+        return getProtocolName();
+    }
+
     public String getServer(Channel channel, char delimiter) {
         String server = getConfig().getString(Keys.PROTOCOL_SERVER.withPrefix(getProtocolName()));
         if (server == null && channel != null) {
@@ -108,7 +114,10 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     }
 
     protected double convertSpeed(double value, String defaultUnits) {
-        return switch (getConfig().getString(getProtocolName() + ".speed", defaultUnits)) {
+        if (speedKey == null) {
+            speedKey = getProtocolName() + ".speed";
+        }
+        return switch (getConfig().getString(speedKey, defaultUnits)) {
             case "kmh" -> UnitsConverter.knotsFromKph(value);
             case "mps" -> UnitsConverter.knotsFromMps(value);
             case "mph" -> UnitsConverter.knotsFromMph(value);
@@ -23,6 +23,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.ReferenceCountUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 import org.traccar.handler.network.AcknowledgementHandler;
 import org.traccar.helper.DataConverter;
 import org.traccar.model.Position;
@@ -36,6 +37,7 @@ import java.util.List;
 public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter {
 
     private Config config;
+    private MetricsManager.Timer decodeTimer;
 
     public Config getConfig() {
         return config;
@@ -47,6 +49,18 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         init();
     }
 
+    @Inject
+    public void setMetricsManager(MetricsManager metricsManager) {
+        decodeTimer = metricsManager.timer("traccar_decode_seconds", "protocol", getMetricsName());
+    }
+
+    /**
+     * Name used to label decoder metrics.
+     */
+    protected String getMetricsName() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * Method called when config is initialized.
      */
@@ -70,7 +84,11 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         Object originalMessage = networkMessage.getMessage();
         ctx.writeAndFlush(new AcknowledgementHandler.EventReceived());
         try {
+            long startTime = decodeTimer != null ? decodeTimer.start() : 0;
             Object decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+            if (decodeTimer != null) {
+                decodeTimer.recordSince(startTime);
+            }
             onMessageEvent(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage, decodedMessage);
             if (decodedMessage == null) {
                 decodedMessage = handleEmptyMessage(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
@@ -21,6 +21,9 @@ import com.google.inject.ProvisionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastService;
+import org.traccar.database.DeviceStateManager;
+import org.traccar.database.MediaManager;
+import org.traccar.database.RollupManager;
 import org.traccar.schedule.ScheduleManager;
 import org.traccar.storage.DatabaseModule;
 import org.traccar.web.WebModule;
@@ -50,6 +53,15 @@ public final class Main {
     private Main() {
     }
 
+    /**
+     * Create and register the global injector, which allows running the server components in process, for example
+     * from benchmarks.
+     */
+    public static Injector createInjector(String configFile) {
+        injector = Guice.createInjector(new MainModule(configFile), new DatabaseModule(), new WebModule());
+        return injector;
+    }
+
     public static void logSystemInfo() {
         try {
             OperatingSystemMXBean operatingSystemBean = ManagementFactory.getOperatingSystemMXBean();
@@ -114,14 +126,15 @@ public final class Main {
 
     public static void run(String configFile) {
         try {
-            injector = Guice.createInjector(new MainModule(configFile), new DatabaseModule(), new WebModule());
+            createInjector(configFile);
             logSystemInfo();
             LOGGER.info("Version: {}", Main.class.getPackage().getImplementationVersion());
             LOGGER.info("Starting server...");
 
             var services = new ArrayList<LifecycleObject>();
             for (var clazz : List.of(
-                    ScheduleManager.class, ServerManager.class, WebServer.class, BroadcastService.class)) {
+                    ScheduleManager.class, RollupManager.class, ServerManager.class, WebServer.class,
+                    BroadcastService.class, DeviceStateManager.class, MediaManager.class)) {
                 var service = injector.getInstance(clazz);
                 if (service != null) {
                     service.start();
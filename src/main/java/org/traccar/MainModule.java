@@ -35,7 +35,9 @@ import org.traccar.broadcast.NullBroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.LdapProvider;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.OpenIdProvider;
+import org.traccar.database.RollupManager;
 import org.traccar.database.StatisticsManager;
 import org.traccar.forward.EventForwarder;
 import org.traccar.forward.EventForwarderJson;
@@ -80,6 +82,7 @@ import org.traccar.handler.CopyAttributesHandler;
 import org.traccar.handler.FilterHandler;
 import org.traccar.handler.GeocoderHandler;
 import org.traccar.handler.GeolocationHandler;
+import org.traccar.handler.RollupHandler;
 import org.traccar.handler.SpeedLimitHandler;
 import org.traccar.handler.TimeHandler;
 import org.traccar.helper.LogAction;
@@ -324,6 +327,15 @@ public class MainModule extends AbstractModule {
         return null;
     }
 
+    @Singleton
+    @Provides
+    public static RollupHandler provideRollupHandler(RollupManager rollupManager) {
+        if (rollupManager.isEnabled()) {
+            return new RollupHandler(rollupManager);
+        }
+        return null;
+    }
+
     @Singleton
     @Provides
     public static TimeHandler provideTimeHandler(Config config) {
@@ -336,11 +348,12 @@ public class MainModule extends AbstractModule {
     @Singleton
     @Provides
     public static BroadcastService provideBroadcastService(
-            Config config, ExecutorService executorService, ObjectMapper objectMapper) throws IOException {
+            Config config, ExecutorService executorService, ObjectMapper objectMapper,
+            MetricsManager metricsManager) throws IOException {
         if (config.hasKey(Keys.BROADCAST_TYPE)) {
             return switch (config.getString(Keys.BROADCAST_TYPE)) {
                 case "multicast" -> new MulticastBroadcastService(config, executorService, objectMapper);
-                case "redis" -> new RedisBroadcastService(config, executorService, objectMapper);
+                case "redis" -> new RedisBroadcastService(config, executorService, objectMapper, metricsManager);
                 default -> new NullBroadcastService();
             };
         }
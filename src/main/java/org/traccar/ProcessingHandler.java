@@ -23,6 +23,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.traccar.config.Config;
 import org.traccar.database.BufferingManager;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.NotificationManager;
 import org.traccar.handler.BasePositionHandler;
 import org.traccar.handler.ComputedAttributesHandler;
@@ -40,6 +41,7 @@ import org.traccar.handler.MotionHandler;
 import org.traccar.handler.OutdatedHandler;
 import org.traccar.handler.PositionForwardingHandler;
 import org.traccar.handler.PostProcessHandler;
+import org.traccar.handler.RollupHandler;
 import org.traccar.handler.SpeedLimitHandler;
 import org.traccar.handler.TimeHandler;
 import org.traccar.handler.TimestampRolloverHandler;
@@ -77,7 +79,9 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     private final PositionLogger positionLogger;
     private final BufferingManager bufferingManager;
     private final List<BasePositionHandler> positionHandlers;
+    private final List<MetricsManager.Timer> positionHandlerTimers;
     private final List<BaseEventHandler> eventHandlers;
+    private final List<MetricsManager.Timer> eventHandlerTimers;
     private final PostProcessHandler postProcessHandler;
 
     private final Map<Long, Queue<Position>> queues = new HashMap<>();
@@ -88,12 +92,13 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
 
     @Inject
     public ProcessingHandler(
-            Injector injector, Config config,
-            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger) {
+            Injector injector, Config config, CacheManager cacheManager, NotificationManager notificationManager,
+            PositionLogger positionLogger, MetricsManager metricsManager) {
         this.cacheManager = cacheManager;
         this.notificationManager = notificationManager;
         this.positionLogger = positionLogger;
         bufferingManager = new BufferingManager(config, this);
+        metricsManager.gauge("traccar_buffered_positions", bufferingManager::size);
 
         positionHandlers = Stream.of(
                 ComputedAttributesHandler.Early.class,
@@ -113,10 +118,15 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 DriverHandler.class,
                 CopyAttributesHandler.class,
                 PositionForwardingHandler.class,
-                DatabaseHandler.class)
+                DatabaseHandler.class,
+                RollupHandler.class)
                 .map((clazz) -> (BasePositionHandler) injector.getInstance(clazz))
                 .filter(Objects::nonNull)
                 .toList();
+        positionHandlerTimers = positionHandlers.stream()
+                .map(handler -> metricsManager.timer(
+                        "traccar_position_handler_seconds", "handler", getHandlerName(handler)))
+                .toList();
 
         eventHandlers = Stream.of(
                 MediaEventHandler.class,
@@ -133,10 +143,19 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 .map((clazz) -> (BaseEventHandler) injector.getInstance(clazz))
                 .filter(Objects::nonNull)
                 .toList();
+        eventHandlerTimers = eventHandlers.stream()
+                .map(handler -> metricsManager.timer(
+                        "traccar_event_handler_seconds", "handler", getHandlerName(handler)))
+                .toList();
 
         postProcessHandler = injector.getInstance(PostProcessHandler.class);
     }
 
+    private static String getHandlerName(Object handler) {
+        Class<?> clazz = handler.getClass();
+        return clazz.getName().substring(clazz.getPackageName().length() + 1);
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         if (msg instanceof Position position) {
@@ -166,12 +185,19 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
 
     private void processPositionHandlers(ChannelHandlerContext ctx, Position position) {
         var iterator = positionHandlers.iterator();
+        var timerIterator = positionHandlerTimers.iterator();
         iterator.next().handlePosition(position, new BasePositionHandler.Callback() {
+            private MetricsManager.Timer timer = timerIterator.next();
+            private long startTime = timer.start();
+
             @Override
             public void processed(boolean filtered) {
+                timer.recordSince(startTime);
                 Runnable continuation = () -> {
                     if (!filtered) {
                         if (iterator.hasNext()) {
+                            timer = timerIterator.next();
+                            startTime = timer.start();
                             iterator.next().handlePosition(position, this);
                         } else {
                             processEventHandlers(ctx, position);
@@ -190,8 +216,12 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     }
 
     private void processEventHandlers(ChannelHandlerContext ctx, Position position) {
-        eventHandlers.forEach(handler -> handler.analyzePosition(
-                position, (event) -> notificationManager.updateEvents(Map.of(event, position))));
+        for (int i = 0; i < eventHandlers.size(); i++) {
+            long startTime = eventHandlerTimers.get(i).start();
+            eventHandlers.get(i).analyzePosition(
+                    position, (event) -> notificationManager.updateEvents(Map.of(event, position)));
+            eventHandlerTimers.get(i).recordSince(startTime);
+        }
         finishedProcessing(ctx, position, false);
     }
 
@@ -39,6 +39,7 @@ public abstract class TrackerServer implements TrackerConnector {
 
     @SuppressWarnings("rawtypes")
     private final AbstractBootstrap bootstrap;
+    private final BasePipelineFactory pipelineFactory;
 
     private final int port;
     private final String address;
@@ -60,7 +61,7 @@ public abstract class TrackerServer implements TrackerConnector {
         address = config.getString(Keys.PROTOCOL_ADDRESS.withPrefix(protocol));
         port = config.getInteger(Keys.PROTOCOL_PORT.withPrefix(protocol));
 
-        BasePipelineFactory pipelineFactory = new BasePipelineFactory(this, config, protocol) {
+        pipelineFactory = new BasePipelineFactory(this, config, protocol) {
             @Override
             protected void addTransportHandlers(PipelineBuilder pipeline) {
                 try {
@@ -96,6 +97,10 @@ public abstract class TrackerServer implements TrackerConnector {
 
     protected abstract void addProtocolHandlers(PipelineBuilder pipeline, Config config);
 
+    public BasePipelineFactory getPipelineFactory() {
+        return pipelineFactory;
+    }
+
     public int getPort() {
         return port;
     }
@@ -30,6 +30,7 @@ import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
@@ -41,6 +42,9 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.core.Response;
 
+import java.util.LinkedList;
+import java.util.List;
+
 public abstract class BaseObjectResource<T extends BaseModel> extends BaseResource {
 
     @Inject
@@ -61,6 +65,23 @@ public abstract class BaseObjectResource<T extends BaseModel> extends BaseResour
         this.baseClass = baseClass;
     }
 
+    /**
+     * Create request for a collection query. If limit is provided, results are ordered by id instead of the sort
+     * field, so that the last returned id can be passed as {@code after} to fetch the next page.
+     */
+    protected Request createCollectionRequest(
+            List<String> fields, List<Condition> conditions, String sortField, long after, int limit) {
+        Columns columns = fields.isEmpty() ? new Columns.All() : new Columns.Projection(fields);
+        if (limit > 0) {
+            var pageConditions = new LinkedList<>(conditions);
+            if (after > 0) {
+                pageConditions.add(new Condition.Compare("id", ">", after));
+            }
+            return new Request(columns, Condition.merge(pageConditions), new Order("id", false, limit));
+        }
+        return new Request(columns, Condition.merge(conditions), sortField != null ? new Order(sortField) : null);
+    }
+
     @Path("{id}")
     @GET
     public Response getSingle(@PathParam("id") long id) throws StorageException {
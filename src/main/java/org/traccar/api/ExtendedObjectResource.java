@@ -21,15 +21,13 @@ import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.User;
 import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Order;
-import org.traccar.storage.query.Request;
 
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.QueryParam;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 
 public class ExtendedObjectResource<T extends BaseModel> extends BaseObjectResource<T> {
 
@@ -43,7 +41,9 @@ public class ExtendedObjectResource<T extends BaseModel> extends BaseObjectResou
     @GET
     public Collection<T> get(
             @QueryParam("all") boolean all, @QueryParam("userId") long userId,
-            @QueryParam("groupId") long groupId, @QueryParam("deviceId") long deviceId) throws StorageException {
+            @QueryParam("groupId") long groupId, @QueryParam("deviceId") long deviceId,
+            @QueryParam("fields") List<String> fields,
+            @QueryParam("after") long after, @QueryParam("limit") int limit) throws StorageException {
 
         var conditions = new LinkedList<Condition>();
 
@@ -69,8 +69,7 @@ public class ExtendedObjectResource<T extends BaseModel> extends BaseObjectResou
             conditions.add(new Condition.Permission(Device.class, deviceId, baseClass).excludeGroups());
         }
 
-        return storage.getObjects(baseClass, new Request(
-                new Columns.All(), Condition.merge(conditions), sortField != null ? new Order(sortField) : null));
+        return storage.getObjects(baseClass, createCollectionRequest(fields, conditions, sortField, after, limit));
     }
 
 }
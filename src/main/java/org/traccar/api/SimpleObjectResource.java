@@ -19,16 +19,14 @@ package org.traccar.api;
 import org.traccar.model.BaseModel;
 import org.traccar.model.User;
 import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Order;
-import org.traccar.storage.query.Request;
 
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.QueryParam;
 
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 
 public class SimpleObjectResource<T extends BaseModel> extends BaseObjectResource<T> {
 
@@ -41,7 +39,9 @@ public class SimpleObjectResource<T extends BaseModel> extends BaseObjectResourc
 
     @GET
     public Collection<T> get(
-            @QueryParam("all") boolean all, @QueryParam("userId") long userId) throws StorageException {
+            @QueryParam("all") boolean all, @QueryParam("userId") long userId,
+            @QueryParam("fields") List<String> fields,
+            @QueryParam("after") long after, @QueryParam("limit") int limit) throws StorageException {
 
         var conditions = new LinkedList<Condition>();
 
@@ -58,8 +58,7 @@ public class SimpleObjectResource<T extends BaseModel> extends BaseObjectResourc
             conditions.add(new Condition.Permission(User.class, userId, baseClass));
         }
 
-        return storage.getObjects(baseClass, new Request(
-                new Columns.All(), Condition.merge(conditions), sortField != null ? new Order(sortField) : null));
+        return storage.getObjects(baseClass, createCollectionRequest(fields, conditions, sortField, after, limit));
     }
 
 }
@@ -16,6 +16,7 @@
 package org.traccar.api.resource;
 
 import org.traccar.api.BaseResource;
+import org.traccar.database.RollupManager;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
@@ -23,6 +24,7 @@ import org.traccar.model.UserRestrictions;
 import org.traccar.reports.CsvExportProvider;
 import org.traccar.reports.GpxExportProvider;
 import org.traccar.reports.KmlExportProvider;
+import org.traccar.reports.common.TripsHistory;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -61,10 +63,18 @@ public class PositionResource extends BaseResource {
     @Inject
     private GpxExportProvider gpxExportProvider;
 
+    @Inject
+    private RollupManager rollupManager;
+
+    @Inject
+    private TripsHistory tripsHistory;
+
     @GET
     public Stream<Position> getJson(
             @QueryParam("deviceId") long deviceId, @QueryParam("id") List<Long> positionIds,
-            @QueryParam("from") Date from, @QueryParam("to") Date to)
+            @QueryParam("from") Date from, @QueryParam("to") Date to,
+            @QueryParam("fields") List<String> fields, @QueryParam("limit") int limit,
+            @QueryParam("after") long after)
             throws StorageException {
         if (!positionIds.isEmpty()) {
             var positions = new ArrayList<Position>();
@@ -79,7 +89,16 @@ public class PositionResource extends BaseResource {
             permissionsService.checkPermission(Device.class, getUserId(), deviceId);
             if (from != null && to != null) {
                 permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
-                return PositionUtil.getPositionsStream(storage, deviceId, from, to);
+                Columns columns = new Columns.All();
+                if (!fields.isEmpty()) {
+                    List<String> projection = new ArrayList<>(fields);
+                    projection.add("fixTime");
+                    columns = new Columns.Projection(projection);
+                }
+                if (limit > 0 || after > 0) {
+                    return PositionUtil.getPositionsPage(storage, deviceId, from, to, after, columns, limit);
+                }
+                return PositionUtil.getPositionsStream(storage, deviceId, from, to, columns, 0);
             } else {
                 return storage.getObjectsStream(Position.class, new Request(
                         new Columns.All(), new Condition.LatestPositions(deviceId)));
@@ -103,6 +122,10 @@ public class PositionResource extends BaseResource {
         permissionsService.checkPermission(Device.class, getUserId(), position.getDeviceId());
 
         storage.removeObject(Position.class, request);
+        if (rollupManager.isEnabled()) {
+            rollupManager.recalculate(position.getDeviceId(), position.getFixTime(), position.getFixTime());
+        }
+        tripsHistory.remove(position.getDeviceId(), position.getFixTime(), position.getFixTime());
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
@@ -117,6 +140,12 @@ public class PositionResource extends BaseResource {
         conditions.add(new Condition.Equals("deviceId", deviceId));
         conditions.add(new Condition.Between("fixTime", from, to));
         storage.removeObject(Position.class, new Request(Condition.merge(conditions)));
+        if (from != null && to != null) {
+            if (rollupManager.isEnabled()) {
+                rollupManager.recalculate(deviceId, from, to);
+            }
+            tripsHistory.remove(deviceId, from, to);
+        }
 
         return Response.status(Response.Status.NO_CONTENT).build();
     }
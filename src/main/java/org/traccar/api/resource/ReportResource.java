@@ -54,6 +54,7 @@ import jakarta.ws.rs.core.StreamingOutput;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Path("reports")
 @Produces(MediaType.APPLICATION_JSON)
@@ -119,10 +120,11 @@ public class ReportResource extends SimpleObjectResource<Report> {
             @QueryParam("deviceId") List<Long> deviceIds,
             @QueryParam("groupId") List<Long> groupIds,
             @QueryParam("from") Date from,
-            @QueryParam("to") Date to) throws StorageException {
+            @QueryParam("to") Date to,
+            @QueryParam("tolerance") double tolerance) throws StorageException {
         permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
         actionLogger.report(request, getUserId(), false, "combined", from, to, deviceIds, groupIds);
-        return combinedReportProvider.getObjects(getUserId(), deviceIds, groupIds, from, to);
+        return combinedReportProvider.getObjects(getUserId(), deviceIds, groupIds, from, to, tolerance);
     }
 
     @Path("route")
@@ -167,7 +169,7 @@ public class ReportResource extends SimpleObjectResource<Report> {
 
     @Path("events")
     @GET
-    public Collection<Event> getEvents(
+    public Stream<Event> getEvents(
             @QueryParam("deviceId") List<Long> deviceIds,
             @QueryParam("groupId") List<Long> groupIds,
             @QueryParam("type") List<String> types,
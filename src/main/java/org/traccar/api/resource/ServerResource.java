@@ -169,6 +169,14 @@ public class ServerResource extends BaseResource {
         return cacheManager.toString();
     }
 
+    @Path("reload")
+    @POST
+    public Response reload() throws StorageException, IOException {
+        permissionsService.checkAdmin(getUserId());
+        config.reload();
+        return Response.noContent().build();
+    }
+
     @Path("reboot")
     @POST
     public void reboot() throws StorageException {
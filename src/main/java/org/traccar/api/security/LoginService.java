@@ -17,12 +17,17 @@ package org.traccar.api.security;
 
 import com.warrenstrange.googleauth.GoogleAuthenticator;
 import org.traccar.api.signature.TokenManager;
+import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.LdapProvider;
 import org.traccar.helper.DataConverter;
 import org.traccar.helper.model.UserUtil;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.PrimaryStorage;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -35,9 +40,17 @@ import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class LoginService {
+public class LoginService implements BroadcastInterface {
+
+    private record CachedLogin(User user, Date expiration, long time) {
+    }
 
     private final Config config;
     private final Storage storage;
@@ -48,16 +61,44 @@ public class LoginService {
     private final boolean forceLdap;
     private final boolean forceOpenId;
 
+    private final Map<String, CachedLogin> tokenCache;
+    private final long tokenCacheTimeout;
+
     @Inject
     public LoginService(
-            Config config, Storage storage, TokenManager tokenManager, @Nullable LdapProvider ldapProvider) {
-        this.storage = storage;
+            Config config, Storage storage, CacheManager cacheManager, TokenManager tokenManager,
+            @Nullable LdapProvider ldapProvider) {
+        this.storage = new PrimaryStorage(storage);
         this.config = config;
         this.tokenManager = tokenManager;
         this.ldapProvider = ldapProvider;
         serviceAccountToken = config.getString(Keys.WEB_SERVICE_ACCOUNT_TOKEN);
         forceLdap = config.getBoolean(Keys.LDAP_FORCE);
         forceOpenId = config.getBoolean(Keys.OPENID_FORCE);
+
+        int cacheSize = config.getInteger(Keys.WEB_TOKEN_CACHE_SIZE);
+        tokenCacheTimeout = TimeUnit.SECONDS.toMillis(config.getLong(Keys.WEB_TOKEN_CACHE_TIMEOUT));
+        if (cacheSize > 0 && tokenCacheTimeout > 0) {
+            tokenCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedLogin> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+            cacheManager.registerListener(this);
+        } else {
+            tokenCache = null;
+        }
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(User.class)) {
+            synchronized (tokenCache) {
+                tokenCache.values().removeIf(cachedLogin -> cachedLogin.user().getId() == id);
+            }
+        }
     }
 
     public LoginResult login(
@@ -78,11 +119,25 @@ public class LoginService {
         if (serviceAccountToken != null && serviceAccountToken.equals(token)) {
             return new LoginResult(new ServiceAccountUser());
         }
+        if (tokenCache != null) {
+            CachedLogin cachedLogin = tokenCache.get(token);
+            if (cachedLogin != null) {
+                long now = System.currentTimeMillis();
+                if (now - cachedLogin.time() < tokenCacheTimeout && cachedLogin.expiration().getTime() > now) {
+                    checkUserEnabled(cachedLogin.user());
+                    return new LoginResult(cachedLogin.user(), cachedLogin.expiration());
+                }
+                tokenCache.remove(token);
+            }
+        }
         TokenManager.TokenData tokenData = tokenManager.verifyToken(token);
         User user = storage.getObject(User.class, new Request(
                 new Columns.All(), new Condition.Equals("id", tokenData.getUserId())));
         if (user != null) {
             checkUserEnabled(user);
+            if (tokenCache != null) {
+                tokenCache.put(token, new CachedLogin(user, tokenData.getExpiration(), System.currentTimeMillis()));
+            }
         }
         return new LoginResult(user, tokenData.getExpiration());
     }
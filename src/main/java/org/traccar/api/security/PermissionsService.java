@@ -28,6 +28,7 @@ import org.traccar.model.Schedulable;
 import org.traccar.model.Server;
 import org.traccar.model.User;
 import org.traccar.model.UserRestrictions;
+import org.traccar.storage.PrimaryStorage;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -47,7 +48,7 @@ public class PermissionsService {
 
     @Inject
     public PermissionsService(Storage storage) {
-        this.storage = storage;
+        this.storage = new PrimaryStorage(storage);
     }
 
     public Server getServer() throws StorageException {
@@ -37,8 +37,12 @@ import java.security.spec.X509EncodedKeySpec;
 @Singleton
 public class CryptoManager {
 
+    private static final String ALGORITHM = "SHA256withECDSA";
+
     private final Storage storage;
 
+    private final ThreadLocal<Signature> signatures = new ThreadLocal<>();
+
     private PublicKey publicKey;
     private PrivateKey privateKey;
 
@@ -47,11 +51,20 @@ public class CryptoManager {
         this.storage = storage;
     }
 
+    private Signature getSignature() throws GeneralSecurityException {
+        Signature signature = signatures.get();
+        if (signature == null) {
+            signature = Signature.getInstance(ALGORITHM);
+            signatures.set(signature);
+        }
+        return signature;
+    }
+
     public byte[] sign(byte[] data) throws GeneralSecurityException, StorageException {
         if (privateKey == null) {
             initializeKeys();
         }
-        Signature signature = Signature.getInstance("SHA256withECDSA");
+        Signature signature = getSignature();
         signature.initSign(privateKey);
         signature.update(data);
         byte[] block = signature.sign();
@@ -66,7 +79,7 @@ public class CryptoManager {
         if (publicKey == null) {
             initializeKeys();
         }
-        Signature signature = Signature.getInstance("SHA256withECDSA");
+        Signature signature = getSignature();
         signature.initVerify(publicKey);
         int length = data[0];
         byte[] originalData = new byte[data.length - 1 - length];
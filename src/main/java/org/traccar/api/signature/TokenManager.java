@@ -18,13 +18,18 @@ package org.traccar.api.signature;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.codec.binary.Base64;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.storage.StorageException;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Singleton
@@ -35,6 +40,8 @@ public class TokenManager {
     private final ObjectMapper objectMapper;
     private final CryptoManager cryptoManager;
 
+    private final Map<String, TokenData> cache;
+
     public static class TokenData {
         @JsonProperty("u")
         private long userId;
@@ -51,9 +58,20 @@ public class TokenManager {
     }
 
     @Inject
-    public TokenManager(ObjectMapper objectMapper, CryptoManager cryptoManager) {
+    public TokenManager(Config config, ObjectMapper objectMapper, CryptoManager cryptoManager) {
         this.objectMapper = objectMapper;
         this.cryptoManager = cryptoManager;
+        int cacheSize = config.getInteger(Keys.WEB_TOKEN_CACHE_SIZE);
+        if (cacheSize > 0) {
+            cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenData> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+        } else {
+            cache = null;
+        }
     }
 
     public String generateToken(long userId) throws IOException, GeneralSecurityException, StorageException {
@@ -74,9 +92,18 @@ public class TokenManager {
     }
 
     public TokenData verifyToken(String token) throws IOException, GeneralSecurityException, StorageException {
-        byte[] encoded = cryptoManager.verify(Base64.decodeBase64(token));
-        TokenData data = objectMapper.readValue(encoded, TokenData.class);
+        TokenData data = cache != null ? cache.get(token) : null;
+        if (data == null) {
+            byte[] encoded = cryptoManager.verify(Base64.decodeBase64(token));
+            data = objectMapper.readValue(encoded, TokenData.class);
+            if (cache != null && !data.expiration.before(new Date())) {
+                cache.put(token, data);
+            }
+        }
         if (data.expiration.before(new Date())) {
+            if (cache != null) {
+                cache.remove(token);
+            }
             throw new SecurityException("Token has expired");
         }
         return data;
@@ -15,9 +15,18 @@
  */
 package org.traccar.broadcast;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
@@ -27,8 +36,24 @@ import org.traccar.model.Position;
 
 public abstract class BaseBroadcastService implements BroadcastService {
 
+    private static final long INTEREST_TIMEOUT = 120_000;
+    private static final int INTEREST_MAX_IDS = 2000;
+
+    private record RemoteInterest(Set<Long> devices, Set<Long> users, boolean all, long time) {
+    }
+
     private final Set<BroadcastInterface> listeners = new HashSet<>();
 
+    protected final String id = UUID.randomUUID().toString();
+
+    private final boolean interestRouting;
+    private final Map<String, RemoteInterest> remoteInterests = new ConcurrentHashMap<>();
+    private volatile BroadcastMessage.Interest localInterest;
+
+    protected BaseBroadcastService(Config config) {
+        interestRouting = config.getBoolean(Keys.BROADCAST_INTEREST_ROUTING);
+    }
+
     @Override
     public boolean singleInstance() {
         return true;
@@ -48,17 +73,71 @@ public abstract class BaseBroadcastService implements BroadcastService {
 
     @Override
     public void updatePosition(boolean local, Position position) {
-        BroadcastMessage message = new BroadcastMessage();
-        message.setPosition(position);
-        sendMessage(message);
+        Collection<String> nodes = findNodes(interest -> interest.devices().contains(position.getDeviceId()));
+        if (nodes == null || !nodes.isEmpty()) {
+            BroadcastMessage message = new BroadcastMessage();
+            message.setPosition(position);
+            sendMessage(message, nodes);
+        }
     }
 
     @Override
     public void updateEvent(boolean local, long userId, Event event) {
-        BroadcastMessage message = new BroadcastMessage();
-        message.setUserId(userId);
-        message.setEvent(event);
-        sendMessage(message);
+        Collection<String> nodes = findNodes(interest -> interest.users().contains(userId));
+        if (nodes == null || !nodes.isEmpty()) {
+            BroadcastMessage message = new BroadcastMessage();
+            message.setUserId(userId);
+            message.setEvent(event);
+            sendMessage(message, nodes);
+        }
+    }
+
+    @Override
+    public void updateInterest(Set<Long> deviceIds, Set<Long> userIds) {
+        if (interestRouting) {
+            var interest = new BroadcastMessage.Interest();
+            interest.setNode(id);
+            if (deviceIds.size() + userIds.size() > INTEREST_MAX_IDS) {
+                interest.setAll(true);
+            } else {
+                interest.setDevices(deviceIds);
+                interest.setUsers(userIds);
+            }
+            localInterest = interest;
+            sendInterest();
+        }
+    }
+
+    private void sendInterest() {
+        var interest = localInterest;
+        if (interest != null) {
+            BroadcastMessage message = new BroadcastMessage();
+            message.setInterest(interest);
+            sendMessage(message);
+        }
+    }
+
+    private static Set<Long> copyOrEmpty(Set<Long> values) {
+        return values != null ? Set.copyOf(values) : Set.of();
+    }
+
+    /**
+     * Nodes that should receive a message, or null if it has to go to all nodes.
+     */
+    private Collection<String> findNodes(Predicate<RemoteInterest> predicate) {
+        if (!interestRouting) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        List<String> result = new ArrayList<>();
+        for (var entry : remoteInterests.entrySet()) {
+            if (now - entry.getValue().time() > INTEREST_TIMEOUT) {
+                remoteInterests.remove(entry.getKey(), entry.getValue());
+            } else if (entry.getValue().all() || predicate.test(entry.getValue())) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
     }
 
     @Override
@@ -94,10 +173,28 @@ public abstract class BaseBroadcastService implements BroadcastService {
         sendMessage(message);
     }
 
-    protected abstract void sendMessage(BroadcastMessage message);
+    protected void sendMessage(BroadcastMessage message) {
+        sendMessage(message, null);
+    }
+
+    /**
+     * Send message to the given nodes, or to all nodes if the collection is null. Transports that can not address
+     * individual nodes may deliver the message to all of them.
+     */
+    protected abstract void sendMessage(BroadcastMessage message, Collection<String> nodes);
 
     protected void handleMessage(BroadcastMessage message) throws Exception {
-        if (message.getDevice() != null) {
+        if (message.getInterest() != null) {
+            var interest = message.getInterest();
+            if (interestRouting && interest.getNode() != null) {
+                var previous = remoteInterests.put(interest.getNode(), new RemoteInterest(
+                        copyOrEmpty(interest.getDevices()), copyOrEmpty(interest.getUsers()),
+                        Boolean.TRUE.equals(interest.getAll()), System.currentTimeMillis()));
+                if (previous == null) {
+                    sendInterest();
+                }
+            }
+        } else if (message.getDevice() != null) {
             listeners.forEach(listener -> listener.updateDevice(false, message.getDevice()));
         } else if (message.getPosition() != null) {
             listeners.forEach(listener -> listener.updatePosition(false, message.getPosition()));
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import org.traccar.model.Event;
+import org.traccar.model.Network;
+import org.traccar.model.Position;
+import org.traccar.protobuf.broadcast.BroadcastBatchOuterClass.BroadcastAttribute;
+import org.traccar.protobuf.broadcast.BroadcastBatchOuterClass.BroadcastBatch;
+import org.traccar.protobuf.broadcast.BroadcastBatchOuterClass.BroadcastEntry;
+import org.traccar.protobuf.broadcast.BroadcastBatchOuterClass.BroadcastEvent;
+import org.traccar.protobuf.broadcast.BroadcastBatchOuterClass.BroadcastPosition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary broadcast payload codec. Payload starts with a magic byte and a format version followed by a protobuf
+ * batch. Positions and events are encoded field by field with times relative to the batch time and attribute names
+ * stored once per payload. Other messages are embedded as json. Legacy json payloads never start with the magic byte,
+ * so receivers can accept both formats.
+ */
+public class BroadcastCodec {
+
+    public static final byte MAGIC = 0x1E;
+    public static final byte MAGIC_FRAGMENT = 0x1F;
+    public static final byte VERSION = 1;
+
+    private static final int FRAGMENT_HEADER = 14;
+
+    public record Batch(String node, long time, List<BroadcastMessage> messages) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public BroadcastCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == MAGIC;
+    }
+
+    public byte[] encode(String node, long time, List<BroadcastMessage> messages) throws IOException {
+        BroadcastBatch.Builder batch = BroadcastBatch.newBuilder().setNode(node).setTime(time);
+        Map<String, Integer> keys = new HashMap<>();
+        for (BroadcastMessage message : messages) {
+            BroadcastEntry.Builder entry = BroadcastEntry.newBuilder();
+            if (message.getUserId() != null) {
+                entry.setUserId(message.getUserId());
+            }
+            if (isPositionOnly(message)) {
+                entry.setPosition(encodePosition(batch, keys, time, message.getPosition()));
+            } else if (isEventOnly(message)) {
+                entry.setEvent(encodeEvent(batch, keys, time, message.getEvent()));
+            } else {
+                entry.setJson(ByteString.copyFrom(objectMapper.writeValueAsBytes(message)));
+            }
+            batch.addEntries(entry);
+        }
+        byte[] body = batch.build().toByteArray();
+        byte[] data = new byte[body.length + 2];
+        data[0] = MAGIC;
+        data[1] = VERSION;
+        System.arraycopy(body, 0, data, 2, body.length);
+        return data;
+    }
+
+    public Batch decode(byte[] data) throws IOException {
+        if (!isBinary(data) || data.length < 2) {
+            throw new IOException("Not a binary broadcast payload");
+        }
+        if (data[1] != VERSION) {
+            throw new IOException("Unsupported broadcast payload version " + data[1]);
+        }
+        BroadcastBatch batch = BroadcastBatch.parseFrom(ByteBuffer.wrap(data, 2, data.length - 2));
+        List<String> keys = batch.getKeysList();
+        List<BroadcastMessage> messages = new ArrayList<>(batch.getEntriesCount());
+        for (BroadcastEntry entry : batch.getEntriesList()) {
+            BroadcastMessage message;
+            switch (entry.getContentCase()) {
+                case POSITION -> {
+                    message = new BroadcastMessage();
+                    message.setPosition(decodePosition(keys, batch.getTime(), entry.getPosition()));
+                }
+                case EVENT -> {
+                    message = new BroadcastMessage();
+                    message.setEvent(decodeEvent(keys, batch.getTime(), entry.getEvent()));
+                }
+                case JSON -> message = objectMapper.readValue(entry.getJson().toByteArray(), BroadcastMessage.class);
+                default -> throw new IOException("Empty broadcast entry");
+            }
+            if (entry.getUserId() != 0) {
+                message.setUserId(entry.getUserId());
+            }
+            messages.add(message);
+        }
+        return new Batch(batch.getNode(), batch.getTime(), messages);
+    }
+
+    private static boolean isPositionOnly(BroadcastMessage message) {
+        return message.getPosition() != null && message.getEvent() == null && isBare(message);
+    }
+
+    private static boolean isEventOnly(BroadcastMessage message) {
+        return message.getEvent() != null && message.getPosition() == null && isBare(message);
+    }
+
+    private static boolean isBare(BroadcastMessage message) {
+        return message.getDevice() == null && message.getCommandDeviceId() == null
+                && message.getInvalidateObject() == null && message.getInvalidatePermission() == null
+                && message.getInterest() == null && (message.getUserId() == null || message.getUserId() != 0);
+    }
+
+    private BroadcastPosition encodePosition(
+            BroadcastBatch.Builder batch, Map<String, Integer> keys, long time, Position position) throws IOException {
+        BroadcastPosition.Builder builder = BroadcastPosition.newBuilder()
+                .setId(position.getId())
+                .setDeviceId(position.getDeviceId())
+                .setOutdated(position.getOutdated())
+                .setValid(position.getValid())
+                .setLatitude(position.getLatitude())
+                .setLongitude(position.getLongitude())
+                .setAltitude(position.getAltitude())
+                .setSpeed(position.getSpeed())
+                .setCourse(position.getCourse())
+                .setAccuracy(position.getAccuracy());
+        if (position.getProtocol() != null) {
+            builder.setProtocol(position.getProtocol());
+        }
+        if (position.getServerTime() != null) {
+            builder.setServerTime(position.getServerTime().getTime() - time);
+        }
+        if (position.getDeviceTime() != null) {
+            builder.setDeviceTime(position.getDeviceTime().getTime() - time);
+        }
+        if (position.getFixTime() != null) {
+            builder.setFixTime(position.getFixTime().getTime() - time);
+        }
+        if (position.getAddress() != null) {
+            builder.setAddress(position.getAddress());
+        }
+        if (position.getNetwork() != null) {
+            builder.setNetwork(ByteString.copyFrom(objectMapper.writeValueAsBytes(position.getNetwork())));
+        }
+        if (position.getGeofenceIds() != null) {
+            builder.setHasGeofenceIds(true).addAllGeofenceIds(position.getGeofenceIds());
+        }
+        for (var attribute : position.getAttributes().entrySet()) {
+            builder.addAttributes(encodeAttribute(batch, keys, attribute.getKey(), attribute.getValue()));
+        }
+        return builder.build();
+    }
+
+    private Position decodePosition(List<String> keys, long time, BroadcastPosition data) throws IOException {
+        Position position = new Position();
+        position.setId(data.getId());
+        position.setDeviceId(data.getDeviceId());
+        if (data.hasProtocol()) {
+            position.setProtocol(data.getProtocol());
+        }
+        if (data.hasServerTime()) {
+            position.setServerTime(new Date(time + data.getServerTime()));
+        }
+        if (data.hasDeviceTime()) {
+            position.setDeviceTime(new Date(time + data.getDeviceTime()));
+        }
+        if (data.hasFixTime()) {
+            position.setFixTime(new Date(time + data.getFixTime()));
+        }
+        position.setOutdated(data.getOutdated());
+        position.setValid(data.getValid());
+        position.setLatitude(data.getLatitude());
+        position.setLongitude(data.getLongitude());
+        position.setAltitude(data.getAltitude());
+        position.setSpeed(data.getSpeed());
+        position.setCourse(data.getCourse());
+        if (data.hasAddress()) {
+            position.setAddress(data.getAddress());
+        }
+        position.setAccuracy(data.getAccuracy());
+        if (data.hasNetwork()) {
+            position.setNetwork(objectMapper.readValue(data.getNetwork().toByteArray(), Network.class));
+        }
+        if (data.getHasGeofenceIds()) {
+            position.setGeofenceIds(data.getGeofenceIdsList());
+        }
+        position.setAttributes(decodeAttributes(keys, data.getAttributesList()));
+        return position;
+    }
+
+    private BroadcastEvent encodeEvent(
+            BroadcastBatch.Builder batch, Map<String, Integer> keys, long time, Event event) throws IOException {
+        BroadcastEvent.Builder builder = BroadcastEvent.newBuilder()
+                .setId(event.getId())
+                .setDeviceId(event.getDeviceId())
+                .setPositionId(event.getPositionId())
+                .setGeofenceId(event.getGeofenceId())
+                .setMaintenanceId(event.getMaintenanceId());
+        if (event.getType() != null) {
+            builder.setType(event.getType());
+        }
+        if (event.getEventTime() != null) {
+            builder.setEventTime(event.getEventTime().getTime() - time);
+        }
+        for (var attribute : event.getAttributes().entrySet()) {
+            builder.addAttributes(encodeAttribute(batch, keys, attribute.getKey(), attribute.getValue()));
+        }
+        return builder.build();
+    }
+
+    private Event decodeEvent(List<String> keys, long time, BroadcastEvent data) throws IOException {
+        Event event = new Event();
+        event.setId(data.getId());
+        event.setDeviceId(data.getDeviceId());
+        if (data.hasType()) {
+            event.setType(data.getType());
+        }
+        if (data.hasEventTime()) {
+            event.setEventTime(new Date(time + data.getEventTime()));
+        }
+        event.setPositionId(data.getPositionId());
+        event.setGeofenceId(data.getGeofenceId());
+        event.setMaintenanceId(data.getMaintenanceId());
+        event.setAttributes(decodeAttributes(keys, data.getAttributesList()));
+        return event;
+    }
+
+    private BroadcastAttribute encodeAttribute(
+            BroadcastBatch.Builder batch, Map<String, Integer> keys, String key, Object value) throws IOException {
+        Integer index = keys.get(key);
+        if (index == null) {
+            index = keys.size();
+            keys.put(key, index);
+            batch.addKeys(key);
+        }
+        BroadcastAttribute.Builder builder = BroadcastAttribute.newBuilder().setKey(index);
+        if (value instanceof Boolean booleanValue) {
+            builder.setBooleanValue(booleanValue);
+        } else if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            builder.setLongValue(((Number) value).longValue());
+        } else if (value instanceof Double doubleValue) {
+            builder.setDoubleValue(doubleValue);
+        } else if (value instanceof Float floatValue) {
+            builder.setDoubleValue(Double.parseDouble(floatValue.toString()));
+        } else if (value instanceof String stringValue) {
+            builder.setStringValue(stringValue);
+        } else {
+            builder.setJsonValue(ByteString.copyFrom(objectMapper.writeValueAsBytes(value)));
+        }
+        return builder.build();
+    }
+
+    private Map<String, Object> decodeAttributes(
+            List<String> keys, List<BroadcastAttribute> attributes) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (BroadcastAttribute attribute : attributes) {
+            if (attribute.getKey() >= keys.size()) {
+                throw new IOException("Unknown attribute key index " + attribute.getKey());
+            }
+            Object value = switch (attribute.getValueCase()) {
+                case BOOLEAN_VALUE -> attribute.getBooleanValue();
+                case LONG_VALUE -> {
+                    long longValue = attribute.getLongValue();
+                    yield longValue == (int) longValue ? (Object) (int) longValue : (Object) longValue;
+                }
+                case DOUBLE_VALUE -> attribute.getDoubleValue();
+                case STRING_VALUE -> attribute.getStringValue();
+                case JSON_VALUE -> objectMapper.readValue(attribute.getJsonValue().toByteArray(), Object.class);
+                default -> null;
+            };
+            result.put(keys.get(attribute.getKey()), value);
+        }
+        return result;
+    }
+
+    /**
+     * Splits a payload into datagrams of at most the given size. Each fragment has a header with the magic byte,
+     * format version, message id, fragment index and fragment count.
+     */
+    public static List<byte[]> fragment(long messageId, byte[] payload, int size) {
+        int chunk = size - FRAGMENT_HEADER;
+        int count = (payload.length + chunk - 1) / chunk;
+        if (count > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Broadcast payload is too large");
+        }
+        List<byte[]> fragments = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            int offset = index * chunk;
+            int length = Math.min(chunk, payload.length - offset);
+            ByteBuffer buffer = ByteBuffer.allocate(FRAGMENT_HEADER + length);
+            buffer.put(MAGIC_FRAGMENT).put(VERSION).putLong(messageId).putShort((short) index).putShort((short) count);
+            buffer.put(payload, offset, length);
+            fragments.add(buffer.array());
+        }
+        return fragments;
+    }
+
+    /**
+     * Collects payload fragments. Incomplete payloads are discarded after the timeout and the number of payloads
+     * being assembled is limited. Not thread safe.
+     */
+    public static class Reassembler {
+
+        private static final class Pending {
+            private final byte[][] fragments;
+            private final long time;
+            private int received;
+            private int length;
+
+            private Pending(int count, long time) {
+                fragments = new byte[count][];
+                this.time = time;
+            }
+        }
+
+        private final long timeout;
+        private final int limit;
+        private final Map<Long, Pending> pending = new LinkedHashMap<>();
+
+        public Reassembler(long timeout, int limit) {
+            this.timeout = timeout;
+            this.limit = limit;
+        }
+
+        /**
+         * Returns complete payload once all fragments are received, otherwise null.
+         */
+        public byte[] accept(byte[] data, int offset, int length, long time) throws IOException {
+            if (length < FRAGMENT_HEADER || data[offset] != MAGIC_FRAGMENT) {
+                throw new IOException("Not a broadcast fragment");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+            buffer.get();
+            if (buffer.get() != VERSION) {
+                throw new IOException("Unsupported broadcast fragment version");
+            }
+            long messageId = buffer.getLong();
+            int index = buffer.getShort();
+            int count = buffer.getShort();
+            if (count <= 0 || index < 0 || index >= count) {
+                throw new IOException("Invalid broadcast fragment index");
+            }
+
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                Pending entry = iterator.next();
+                if (time - entry.time > timeout || pending.size() >= limit) {
+                    iterator.remove();
+                } else {
+                    break;
+                }
+            }
+
+            Pending entry = pending.get(messageId);
+            if (entry == null) {
+                if (count == 1) {
+                    return copy(buffer);
+                }
+                entry = new Pending(count, time);
+                pending.put(messageId, entry);
+            } else if (entry.fragments.length != count) {
+                throw new IOException("Inconsistent broadcast fragment count");
+            }
+            if (entry.fragments[index] == null) {
+                entry.fragments[index] = copy(buffer);
+                entry.received += 1;
+                entry.length += entry.fragments[index].length;
+            }
+            if (entry.received < count) {
+                return null;
+            }
+            pending.remove(messageId);
+            byte[] payload = new byte[entry.length];
+            int position = 0;
+            for (byte[] fragment : entry.fragments) {
+                System.arraycopy(fragment, 0, payload, position, fragment.length);
+                position += fragment.length;
+            }
+            return payload;
+        }
+
+        private static byte[] copy(ByteBuffer buffer) {
+            byte[] result = new byte[buffer.remaining()];
+            buffer.get(result);
+            return result;
+        }
+
+    }
+
+}
@@ -15,11 +15,15 @@
  */
 package org.traccar.broadcast;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 
+import java.util.Set;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BroadcastMessage {
 
     private Device device;
@@ -180,4 +184,61 @@ public class BroadcastMessage {
         this.invalidatePermission = invalidatePermission;
     }
 
+    public static class Interest {
+
+        private String node;
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(String node) {
+            this.node = node;
+        }
+
+        private Set<Long> devices;
+
+        public Set<Long> getDevices() {
+            return devices;
+        }
+
+        public void setDevices(Set<Long> devices) {
+            this.devices = devices;
+        }
+
+        private Set<Long> users;
+
+        public Set<Long> getUsers() {
+            return users;
+        }
+
+        public void setUsers(Set<Long> users) {
+            this.users = users;
+        }
+
+        private Boolean all;
+
+        /**
+         * Node is interested in all messages. Used instead of the id sets when they are too large to send.
+         */
+        public Boolean getAll() {
+            return all;
+        }
+
+        public void setAll(Boolean all) {
+            this.all = all;
+        }
+
+    }
+
+    private Interest interest;
+
+    public Interest getInterest() {
+        return interest;
+    }
+
+    public void setInterest(Interest interest) {
+        this.interest = interest;
+    }
+
 }
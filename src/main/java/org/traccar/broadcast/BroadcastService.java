@@ -17,7 +17,15 @@ package org.traccar.broadcast;
 
 import org.traccar.LifecycleObject;
 
+import java.util.Set;
+
 public interface BroadcastService extends LifecycleObject, BroadcastInterface {
     boolean singleInstance();
     void registerListener(BroadcastInterface listener);
+
+    /**
+     * Publish devices and users that have live update listeners on this node.
+     */
+    default void updateInterest(Set<Long> deviceIds, Set<Long> userIds) {
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2022 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,13 +29,29 @@ import java.net.InetSocketAddress;
 import java.net.MulticastSocket;
 import java.net.NetworkInterface;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Multicast broadcast. Each message is sent as json in a single datagram, or with the binary codec enabled as a
+ * {@link BroadcastCodec} payload split into fragments that fit into a typical network MTU.
+ */
 public class MulticastBroadcastService extends BaseBroadcastService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MulticastBroadcastService.class);
 
+    private static final int DATAGRAM_MAX = 65507;
+    private static final int FRAGMENT_SIZE = 1400;
+    private static final long FRAGMENT_TIMEOUT = 10000;
+    private static final int FRAGMENT_LIMIT = 1000;
+
     private final ObjectMapper objectMapper;
+    private final BroadcastCodec codec;
+    private final boolean binary;
+    private final BroadcastCodec.Reassembler reassembler = new BroadcastCodec.Reassembler(
+            FRAGMENT_TIMEOUT, FRAGMENT_LIMIT);
 
     private final NetworkInterface networkInterface;
     private final int port;
@@ -44,12 +60,15 @@ public class MulticastBroadcastService extends BaseBroadcastService {
     private DatagramSocket publisherSocket;
 
     private final ExecutorService executorService;
-    private final byte[] receiverBuffer = new byte[4096];
+    private final byte[] receiverBuffer = new byte[65535];
 
     public MulticastBroadcastService(
             Config config, ExecutorService executorService, ObjectMapper objectMapper) throws IOException {
+        super(config);
         this.executorService = executorService;
         this.objectMapper = objectMapper;
+        codec = new BroadcastCodec(objectMapper);
+        binary = config.getString(Keys.BROADCAST_CODEC).equals("binary");
         port = config.getInteger(Keys.BROADCAST_PORT);
         String interfaceName = config.getString(Keys.BROADCAST_INTERFACE);
         if (interfaceName.indexOf('.') >= 0 || interfaceName.indexOf(':') >= 0) {
@@ -67,11 +86,26 @@ public class MulticastBroadcastService extends BaseBroadcastService {
     }
 
     @Override
-    protected void sendMessage(BroadcastMessage message) {
+    protected void sendMessage(BroadcastMessage message, Collection<String> nodes) {
         try {
-            byte[] buffer = objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
-            DatagramPacket packet = new DatagramPacket(buffer, buffer.length, group);
-            publisherSocket.send(packet);
+            if (binary) {
+                byte[] payload = codec.encode(id, System.currentTimeMillis(), List.of(message));
+                if (payload.length <= FRAGMENT_SIZE) {
+                    publisherSocket.send(new DatagramPacket(payload, payload.length, group));
+                } else {
+                    long messageId = ThreadLocalRandom.current().nextLong();
+                    for (byte[] fragment : BroadcastCodec.fragment(messageId, payload, FRAGMENT_SIZE)) {
+                        publisherSocket.send(new DatagramPacket(fragment, fragment.length, group));
+                    }
+                }
+            } else {
+                byte[] buffer = objectMapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8);
+                if (buffer.length > DATAGRAM_MAX) {
+                    LOGGER.warn("Broadcast message of {} bytes exceeds datagram size limit", buffer.length);
+                    return;
+                }
+                publisherSocket.send(new DatagramPacket(buffer, buffer.length, group));
+            }
         } catch (IOException e) {
             LOGGER.warn("Broadcast failed", e);
         }
@@ -86,6 +120,32 @@ public class MulticastBroadcastService extends BaseBroadcastService {
     public void stop() {
     }
 
+    private void handlePacket(DatagramPacket packet) {
+        try {
+            byte[] data = packet.getData();
+            int length = packet.getLength();
+            byte[] payload = null;
+            if (length > 0 && data[0] == BroadcastCodec.MAGIC_FRAGMENT) {
+                payload = reassembler.accept(data, 0, length, System.currentTimeMillis());
+                if (payload == null) {
+                    return;
+                }
+            } else if (length > 0 && data[0] == BroadcastCodec.MAGIC) {
+                payload = new byte[length];
+                System.arraycopy(data, 0, payload, 0, length);
+            }
+            if (payload != null) {
+                for (BroadcastMessage message : codec.decode(payload).messages()) {
+                    handleMessage(message);
+                }
+            } else {
+                handleMessage(objectMapper.readValue(data, 0, length, BroadcastMessage.class));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Broadcast handleMessage failed", e);
+        }
+    }
+
     private final Runnable receiver = new Runnable() {
         @Override
         public void run() {
@@ -97,8 +157,7 @@ public class MulticastBroadcastService extends BaseBroadcastService {
                     DatagramPacket packet = new DatagramPacket(receiverBuffer, receiverBuffer.length);
                     socket.receive(packet);
                     if (networkInterface.inetAddresses().noneMatch(a -> a.equals(packet.getAddress()))) {
-                        String data = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
-                        handleMessage(objectMapper.readValue(data, BroadcastMessage.class));
+                        handlePacket(packet);
                     }
                 }
                 publisherSocket = null;
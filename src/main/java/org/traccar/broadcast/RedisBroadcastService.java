@@ -20,41 +20,90 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import redis.clients.jedis.BinaryJedisPubSub;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisException;
 
+/**
+ * Redis pub/sub broadcast. Messages are queued and published from a single thread, which combines queued messages
+ * into batch payloads and pipelines several payloads per round trip when there is a backlog. Payload format is
+ * {@code <node id>:<publish time>:<json array>} or a {@link BroadcastCodec} binary batch, depending on configuration.
+ * Messages for specific nodes are published to per node channels. Both connections reconnect with exponential
+ * backoff. Only position, event and interest messages are dropped when the queue limit is reached; cache
+ * invalidations, device and command updates are always queued, otherwise peers would keep stale state.
+ */
 public class RedisBroadcastService extends BaseBroadcastService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisBroadcastService.class);
 
+    private static final int PIPELINE_DEPTH = 8;
+    private static final long BACKOFF_MIN = 100;
+    private static final long BACKOFF_MAX = 30000;
+
+    private record QueuedMessage(BroadcastMessage message, Collection<String> nodes, long time, boolean sheddable) {
+    }
+
     private final ObjectMapper objectMapper;
+    private final BroadcastCodec codec;
+    private final boolean binary;
 
     private final ExecutorService executorService;
 
     private final String channel = "traccar";
+    private final String nodeChannel = channel + ":" + id;
+    private final byte[] channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+    private final byte[] nodeChannelBytes = nodeChannel.getBytes(StandardCharsets.UTF_8);
+    private final String url;
+    private final int batchSize;
+    private final int queueSize;
+    private final BlockingQueue<QueuedMessage> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger sheddableCount = new AtomicInteger();
 
-    private Jedis subscriber;
-    private Jedis publisher;
+    private final MetricsManager.Timer publishTimer;
+    private final MetricsManager.Counter droppedCounter;
+    private final MetricsManager.Timer lagTimer;
 
-    private final String id = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private volatile Jedis subscriber;
+    private BinaryJedisPubSub subscription;
 
     public RedisBroadcastService(
-            Config config, ExecutorService executorService, ObjectMapper objectMapper) throws IOException {
+            Config config, ExecutorService executorService, ObjectMapper objectMapper,
+            MetricsManager metricsManager) throws IOException {
+        super(config);
         this.executorService = executorService;
         this.objectMapper = objectMapper;
-        String url = config.getString(Keys.BROADCAST_ADDRESS);
+        codec = new BroadcastCodec(objectMapper);
+        binary = config.getString(Keys.BROADCAST_CODEC).equals("binary");
+        url = config.getString(Keys.BROADCAST_ADDRESS);
+        batchSize = config.getInteger(Keys.BROADCAST_BATCH_SIZE);
+        queueSize = config.getInteger(Keys.BROADCAST_QUEUE_SIZE);
 
-        try {
-            subscriber = new Jedis(url);
-            publisher = new Jedis(url);
-            subscriber.connect();
+        publishTimer = metricsManager.timer("traccar_broadcast_publish_seconds");
+        droppedCounter = metricsManager.counter("traccar_broadcast_dropped_total");
+        lagTimer = metricsManager.timer("traccar_broadcast_lag_seconds");
+        metricsManager.gauge("traccar_broadcast_queue_size", queue::size);
+
+        try (Jedis jedis = new Jedis(url)) {
+            jedis.connect();
         } catch (JedisConnectionException e) {
             throw new IOException(e);
         }
@@ -65,60 +114,219 @@ public class RedisBroadcastService extends BaseBroadcastService {
         return false;
     }
 
+    private static boolean isSheddable(BroadcastMessage message) {
+        return message.getPosition() != null || message.getEvent() != null || message.getInterest() != null;
+    }
+
     @Override
-    protected void sendMessage(BroadcastMessage message) {
-        try {
-            String payload = id  + ":" + objectMapper.writeValueAsString(message);
-            publisher.publish(channel, payload);
-        } catch (IOException | JedisConnectionException e) {
-            LOGGER.warn("Broadcast failed", e);
+    protected void sendMessage(BroadcastMessage message, Collection<String> nodes) {
+        boolean sheddable = isSheddable(message);
+        if (sheddable && sheddableCount.incrementAndGet() > queueSize) {
+            sheddableCount.decrementAndGet();
+            droppedCounter.increment();
+            LOGGER.warn("Broadcast queue is full, message dropped");
+            return;
+        }
+        queue.add(new QueuedMessage(message, nodes, System.currentTimeMillis(), sheddable));
+    }
+
+    private void take(List<QueuedMessage> pending, QueuedMessage first) {
+        int start = pending.size();
+        pending.add(first);
+        queue.drainTo(pending, batchSize * PIPELINE_DEPTH - 1);
+        for (int i = start; i < pending.size(); i++) {
+            if (pending.get(i).sheddable()) {
+                sheddableCount.decrementAndGet();
+            }
         }
     }
 
     @Override
     public void start() throws IOException {
+        running = true;
         executorService.submit(receiver);
+        executorService.submit(publisher);
     }
 
     @Override
     public void stop() {
+        running = false;
         try {
-            if (subscriber != null) {
-                subscriber.close();
-                subscriber = null;
+            BinaryJedisPubSub currentSubscription = subscription;
+            if (currentSubscription != null && currentSubscription.isSubscribed()) {
+                currentSubscription.unsubscribe();
+            }
+            Jedis currentSubscriber = subscriber;
+            if (currentSubscriber != null) {
+                currentSubscriber.close();
             }
         } catch (JedisException e) {
             LOGGER.warn("Subscriber close failed", e);
         }
-        try {
-            if (publisher != null) {
-                publisher.close();
-                publisher = null;
+    }
+
+    private static long backoff(long delay) throws InterruptedException {
+        Thread.sleep(delay);
+        return Math.min(delay * 2, BACKOFF_MAX);
+    }
+
+    private byte[] encode(List<QueuedMessage> messages) throws IOException {
+        List<BroadcastMessage> batch = new ArrayList<>(messages.size());
+        for (QueuedMessage message : messages) {
+            batch.add(message.message());
+        }
+        long time = System.currentTimeMillis();
+        if (binary) {
+            return codec.encode(id, time, batch);
+        }
+        String payload = id + ":" + time + ":" + objectMapper.writeValueAsString(batch);
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void publish(Jedis jedis, List<QueuedMessage> messages) throws IOException {
+        Map<String, List<QueuedMessage>> channels = new LinkedHashMap<>();
+        for (QueuedMessage message : messages) {
+            if (message.nodes() == null) {
+                channels.computeIfAbsent(channel, key -> new ArrayList<>()).add(message);
+            } else {
+                for (String node : message.nodes()) {
+                    channels.computeIfAbsent(channel + ":" + node, key -> new ArrayList<>()).add(message);
+                }
             }
-        } catch (JedisException e) {
-            LOGGER.warn("Publisher close failed", e);
+        }
+        if (channels.size() == 1 && messages.size() <= batchSize) {
+            var entry = channels.entrySet().iterator().next();
+            jedis.publish(entry.getKey().getBytes(StandardCharsets.UTF_8), encode(entry.getValue()));
+        } else {
+            Pipeline pipeline = jedis.pipelined();
+            for (var entry : channels.entrySet()) {
+                List<QueuedMessage> channelMessages = entry.getValue();
+                for (int i = 0; i < channelMessages.size(); i += batchSize) {
+                    pipeline.publish(entry.getKey().getBytes(StandardCharsets.UTF_8), encode(
+                            channelMessages.subList(i, Math.min(i + batchSize, channelMessages.size()))));
+                }
+            }
+            pipeline.sync();
+        }
+        long now = System.currentTimeMillis();
+        for (QueuedMessage message : messages) {
+            publishTimer.record(TimeUnit.MILLISECONDS.toNanos(now - message.time()));
         }
     }
 
-    private final Runnable receiver = new Runnable() {
+    private final Runnable publisher = new Runnable() {
         @Override
         public void run() {
+            List<QueuedMessage> pending = new ArrayList<>();
+            Jedis jedis = null;
+            long delay = BACKOFF_MIN;
             try {
-                subscriber.subscribe(new JedisPubSub() {
-                    @Override
-                    public void onMessage(String messageChannel, String message) {
-                        try {
-                            String[] parts = message.split(":", 2);
-                            if (messageChannel.equals(channel) && parts.length == 2 && !id.equals(parts[0])) {
-                                handleMessage(objectMapper.readValue(parts[1], BroadcastMessage.class));
+                while (running) {
+                    if (pending.isEmpty()) {
+                        QueuedMessage first = queue.poll(1, TimeUnit.SECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        take(pending, first);
+                    }
+                    try {
+                        if (jedis == null) {
+                            jedis = new Jedis(url);
+                            jedis.connect();
+                        }
+                        publish(jedis, pending);
+                        pending.clear();
+                        delay = BACKOFF_MIN;
+                    } catch (JedisConnectionException e) {
+                        LOGGER.warn("Broadcast publish failed, reconnecting in {} ms", delay, e);
+                        if (jedis != null) {
+                            jedis.close();
+                            jedis = null;
+                        }
+                        delay = backoff(delay);
+                    } catch (IOException | JedisException e) {
+                        LOGGER.warn("Broadcast publish failed", e);
+                        pending.clear();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (jedis != null) {
+                    jedis.close();
+                }
+            }
+        }
+    };
+
+    private void recordLag(long time) {
+        lagTimer.record(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - time));
+    }
+
+    private void handlePayload(byte[] data) throws Exception {
+        if (BroadcastCodec.isBinary(data)) {
+            BroadcastCodec.Batch batch = codec.decode(data);
+            if (!id.equals(batch.node())) {
+                recordLag(batch.time());
+                for (BroadcastMessage message : batch.messages()) {
+                    handleMessage(message);
+                }
+            }
+            return;
+        }
+        String payload = new String(data, StandardCharsets.UTF_8);
+        String[] parts = payload.split(":", 3);
+        if (parts.length < 2 || id.equals(parts[0])) {
+            return;
+        }
+        if (parts[1].startsWith("{")) {
+            handleMessage(objectMapper.readValue(payload.substring(parts[0].length() + 1), BroadcastMessage.class));
+            return;
+        }
+        recordLag(Long.parseLong(parts[1]));
+        for (BroadcastMessage message : objectMapper.readValue(parts[2], BroadcastMessage[].class)) {
+            handleMessage(message);
+        }
+    }
+
+    private final Runnable receiver = new Runnable() {
+        @Override
+        public void run() {
+            long delay = BACKOFF_MIN;
+            while (running) {
+                try (Jedis jedis = new Jedis(url)) {
+                    subscriber = jedis;
+                    jedis.connect();
+                    delay = BACKOFF_MIN;
+                    subscription = new BinaryJedisPubSub() {
+                        @Override
+                        public void onMessage(byte[] messageChannel, byte[] message) {
+                            try {
+                                if (Arrays.equals(messageChannel, channelBytes)
+                                        || Arrays.equals(messageChannel, nodeChannelBytes)) {
+                                    handlePayload(message);
+                                }
+                            } catch (Exception e) {
+                                LOGGER.warn("Broadcast handleMessage failed", e);
                             }
-                        } catch (Exception e) {
-                            LOGGER.warn("Broadcast handleMessage failed", e);
                         }
+                    };
+                    jedis.subscribe(subscription, channelBytes, nodeChannelBytes);
+                } catch (JedisException e) {
+                    if (running) {
+                        LOGGER.warn("Broadcast subscription failed, reconnecting in {} ms", delay, e);
+                    }
+                } finally {
+                    subscriber = null;
+                }
+                if (running) {
+                    try {
+                        delay = backoff(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
                     }
-                }, channel);
-            } catch (JedisException e) {
-                throw new RuntimeException(e);
+                }
             }
         }
     };
@@ -24,30 +24,100 @@ import jakarta.inject.Singleton;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.InvalidPropertiesFormatException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 @Singleton
 public class Config {
 
+    private record Entry(boolean present, String value) {
+    }
+
+    private static final Entry MISSING = new Entry(false, null);
+
+    /**
+     * Immutable configuration state. Properties and environment variables are copied when the snapshot is created.
+     * Resolved and parsed values are memoized, so lookups are lock-free after the first access of each key.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, String> properties;
+        private final Map<String, String> environment;
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+        private Snapshot(Properties properties, boolean useEnvironmentVariables) {
+            Map<String, String> copy = new HashMap<>();
+            properties.stringPropertyNames().forEach(key -> copy.put(key, properties.getProperty(key)));
+            this.properties = Map.copyOf(copy);
+            this.environment = useEnvironmentVariables ? Map.copyOf(System.getenv()) : Map.of();
+        }
+
+        private Entry getEntry(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = resolve(key);
+                entries.put(key, entry);
+            }
+            return entry;
+        }
+
+        private Entry resolve(String key) {
+            if (!environment.isEmpty()) {
+                String name = getEnvironmentVariableName(key);
+                String value = environment.get(name);
+                if (value != null && !value.isEmpty()) {
+                    return new Entry(true, value);
+                } else if (value != null) {
+                    return new Entry(true, properties.get(key));
+                }
+            }
+            String value = properties.get(key);
+            return value != null ? new Entry(true, value) : MISSING;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T getValue(String key, Class<T> clazz, Function<String, T> parser) {
+            Object value = values.get(key);
+            if (clazz.isInstance(value)) {
+                return (T) value;
+            }
+            String string = getEntry(key).value();
+            if (string == null) {
+                return null;
+            }
+            T result = parser.apply(string);
+            values.put(key, result);
+            return result;
+        }
+
+    }
+
     private final Properties properties = new Properties();
 
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private String file;
     private boolean useEnvironmentVariables;
+    private volatile Snapshot snapshot;
 
     public Config() {
+        snapshot = new Snapshot(properties, false);
     }
 
     @Inject
     public Config(@Named("configFile") String file) throws IOException {
         try {
-            try (InputStream inputStream = new FileInputStream(file)) {
-                properties.loadFromXML(inputStream);
-            }
-
-            useEnvironmentVariables = Boolean.parseBoolean(System.getenv("CONFIG_USE_ENVIRONMENT_VARIABLES"))
-                    || Boolean.parseBoolean(properties.getProperty("config.useEnvironmentVariables"));
-
+            this.file = file;
+            snapshot = load(file);
             Log.setupLogger(this);
         } catch (InvalidPropertiesFormatException e) {
             Log.setupDefaultLogger();
@@ -58,13 +128,46 @@ public class Config {
         }
     }
 
+    private Snapshot load(String file) throws IOException {
+        Properties loaded = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            loaded.loadFromXML(inputStream);
+        }
+        boolean environmentVariables = Boolean.parseBoolean(System.getenv("CONFIG_USE_ENVIRONMENT_VARIABLES"))
+                || Boolean.parseBoolean(loaded.getProperty("config.useEnvironmentVariables"));
+        synchronized (properties) {
+            properties.clear();
+            properties.putAll(loaded);
+            useEnvironmentVariables = environmentVariables;
+            return new Snapshot(properties, useEnvironmentVariables);
+        }
+    }
+
+    /**
+     * Read the configuration file again and atomically replace all values. Components that copy values during
+     * initialization keep the old values until restart.
+     */
+    public void reload() throws IOException {
+        if (file == null) {
+            throw new IllegalStateException("Configuration is not loaded from a file");
+        }
+        snapshot = load(file);
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Register callback that is executed after every configuration reload.
+     */
+    public void addReloadListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
     public boolean hasKey(ConfigKey<?> key) {
         return hasKey(key.getKey());
     }
 
     private boolean hasKey(String key) {
-        return useEnvironmentVariables && System.getenv().containsKey(getEnvironmentVariableName(key))
-                || properties.containsKey(key);
+        return snapshot.getEntry(key).present();
     }
 
     public String getString(ConfigKey<String> key) {
@@ -73,13 +176,7 @@ public class Config {
 
     @Deprecated
     public String getString(String key) {
-        if (useEnvironmentVariables) {
-            String value = System.getenv(getEnvironmentVariableName(key));
-            if (value != null && !value.isEmpty()) {
-                return value;
-            }
-        }
-        return properties.getProperty(key);
+        return snapshot.getEntry(key).value();
     }
 
     public String getString(ConfigKey<String> key, String defaultValue) {
@@ -88,13 +185,14 @@ public class Config {
 
     @Deprecated
     public String getString(String key, String defaultValue) {
-        return hasKey(key) ? getString(key) : defaultValue;
+        Entry entry = snapshot.getEntry(key);
+        return entry.present() ? entry.value() : defaultValue;
     }
 
     public boolean getBoolean(ConfigKey<Boolean> key) {
-        String value = getString(key.getKey());
+        Boolean value = snapshot.getValue(key.getKey(), Boolean.class, Boolean::parseBoolean);
         if (value != null) {
-            return Boolean.parseBoolean(value);
+            return value;
         } else {
             Boolean defaultValue = key.getDefaultValue();
             return Objects.requireNonNullElse(defaultValue, false);
@@ -102,9 +200,9 @@ public class Config {
     }
 
     public int getInteger(ConfigKey<Integer> key) {
-        String value = getString(key.getKey());
+        Integer value = snapshot.getValue(key.getKey(), Integer.class, Integer::parseInt);
         if (value != null) {
-            return Integer.parseInt(value);
+            return value;
         } else {
             Integer defaultValue = key.getDefaultValue();
             return Objects.requireNonNullElse(defaultValue, 0);
@@ -117,13 +215,13 @@ public class Config {
 
     @Deprecated
     public int getInteger(String key, int defaultValue) {
-        return hasKey(key) ? Integer.parseInt(getString(key)) : defaultValue;
+        return hasKey(key) ? snapshot.getValue(key, Integer.class, Integer::parseInt) : defaultValue;
     }
 
     public long getLong(ConfigKey<Long> key) {
-        String value = getString(key.getKey());
+        Long value = snapshot.getValue(key.getKey(), Long.class, Long::parseLong);
         if (value != null) {
-            return Long.parseLong(value);
+            return value;
         } else {
             Long defaultValue = key.getDefaultValue();
             return Objects.requireNonNullElse(defaultValue, 0L);
@@ -131,9 +229,9 @@ public class Config {
     }
 
     public double getDouble(ConfigKey<Double> key) {
-        String value = getString(key.getKey());
+        Double value = snapshot.getValue(key.getKey(), Double.class, Double::parseDouble);
         if (value != null) {
-            return Double.parseDouble(value);
+            return value;
         } else {
             Double defaultValue = key.getDefaultValue();
             return Objects.requireNonNullElse(defaultValue, 0.0);
@@ -142,7 +240,10 @@ public class Config {
 
     @VisibleForTesting
     public void setString(ConfigKey<?> key, String value) {
-        properties.put(key.getKey(), value);
+        synchronized (properties) {
+            properties.put(key.getKey(), value);
+            snapshot = new Snapshot(properties, useEnvironmentVariables);
+        }
     }
 
     static String getEnvironmentVariableName(String key) {
@@ -484,6 +484,40 @@ public final class Keys {
             "database.password",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Read replica connection URL. If set, read queries from API requests and reports are sent to the replica, while
+     * writes and the position processing stay on the primary database. The replica uses the primary driver.
+     */
+    public static final ConfigKey<String> DATABASE_REPLICA_URL = new StringConfigKey(
+            "database.replica.url",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Read replica user name. By default the primary database user is used.
+     */
+    public static final ConfigKey<String> DATABASE_REPLICA_USER = new StringConfigKey(
+            "database.replica.user",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Read replica user password. By default the primary database password is used.
+     */
+    public static final ConfigKey<String> DATABASE_REPLICA_PASSWORD = new StringConfigKey(
+            "database.replica.password",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum replica lag in seconds. The lag is estimated from the latest stored position. If the replica falls
+     * further behind or can't be reached, reads go to the primary database until it catches up. The estimate only
+     * reflects position replication. While no positions are stored, changes to other tables are not detected, so
+     * the replica is reported as current even if it is behind on them. Authentication and permission checks always
+     * use the primary database.
+     */
+    public static final ConfigKey<Long> DATABASE_REPLICA_MAX_LAG = new LongConfigKey(
+            "database.replica.maxLag",
+            List.of(KeyType.CONFIG),
+            30L);
+
     /**
      * Path to Liquibase master changelog file.
      */
@@ -492,6 +526,63 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "./schema/changelog-master.xml");
 
+    /**
+     * Store positions in monthly partitions. Only supported for PostgreSQL without TimescaleDB (TimescaleDB already
+     * partitions positions). Existing positions are migrated on startup, which can take a long time for large
+     * databases. Partitions for the following months are created automatically.
+     */
+    public static final ConfigKey<Boolean> DATABASE_POSITION_PARTITIONS = new BooleanConfigKey(
+            "database.positionPartitions",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of days to keep positions. Older positions are removed daily. With monthly partitions or TimescaleDB,
+     * whole partitions or chunks are dropped once all their positions are older than the limit. Otherwise positions
+     * are deleted in batches.
+     */
+    public static final ConfigKey<Integer> DATABASE_POSITION_RETENTION = new IntegerConfigKey(
+            "database.positionRetention",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Preload devices updated within the given number of days into the cache on startup. Devices are loaded in pages
+     * with their linked objects and latest positions, so reconnecting devices don't have to be loaded one by one.
+     * Preloaded devices that don't connect within 10 minutes after the warm-up are released. Default value is 0, which
+     * disables the warm-up.
+     */
+    public static final ConfigKey<Integer> DATABASE_CACHE_WARM_UP = new IntegerConfigKey(
+            "database.cacheWarmUp",
+            List.of(KeyType.CONFIG),
+            0);
+
+    /**
+     * Number of devices loaded per page during the cache warm-up.
+     */
+    public static final ConfigKey<Integer> DATABASE_CACHE_WARM_UP_PAGE = new IntegerConfigKey(
+            "database.cacheWarmUpPage",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Maximum number of devices loaded into the cache per second when new connections arrive. Messages from devices
+     * over the limit are dropped and have to be resent by the device. Devices that are already cached are not
+     * limited. Default value is 0, which means no limit.
+     */
+    public static final ConfigKey<Integer> DATABASE_CACHE_LOAD_LIMIT = new IntegerConfigKey(
+            "database.cacheLoadLimit",
+            List.of(KeyType.CONFIG),
+            0);
+
+    /**
+     * Delay in seconds for writing device motion and overspeed state to the database. State changes are merged per
+     * device and written periodically, on shutdown and when the device is removed from the cache. Default value is 0,
+     * which means that changes are written immediately.
+     */
+    public static final ConfigKey<Integer> DATABASE_DEVICE_STATE_DELAY = new IntegerConfigKey(
+            "database.deviceStateDelay",
+            List.of(KeyType.CONFIG),
+            0);
+
     /**
      * Database connection pool size. Default value is defined by the HikariCP library.
      */
@@ -766,6 +857,26 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "./media");
 
+    /**
+     * Maximum number of media files waiting to be written to disk. Files are written by a dedicated thread, so
+     * protocol handlers are not blocked by disk operations. If the queue is full, the file is dropped and counted in
+     * the traccar_media_dropped_total metric.
+     */
+    public static final ConfigKey<Integer> MEDIA_QUEUE_SIZE = new IntegerConfigKey(
+            "media.queueSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Media file sync policy. Available options are "file", "batch" and "none". Default "file" forces every file
+     * to disk after writing, "batch" writes all queued files first and then forces them, "none" leaves flushing to
+     * the operating system.
+     */
+    public static final ConfigKey<String> MEDIA_SYNC = new StringConfigKey(
+            "media.sync",
+            List.of(KeyType.CONFIG),
+            "file");
+
     /**
      * Optional parameter to specify network interface for web interface to bind to. By default server will bind to all
      * available interfaces.
@@ -852,6 +963,24 @@ public final class Keys {
             "web.serviceAccountToken",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of verified API tokens kept in memory. Cached tokens skip signature verification and user lookup
+     * on every request. Set to 0 to disable the cache.
+     */
+    public static final ConfigKey<Integer> WEB_TOKEN_CACHE_SIZE = new IntegerConfigKey(
+            "web.tokenCacheSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Time in seconds after which cached token user is loaded from the database again. User changes made through the
+     * API are applied immediately, the timeout only covers direct database modifications.
+     */
+    public static final ConfigKey<Long> WEB_TOKEN_CACHE_TIMEOUT = new LongConfigKey(
+            "web.tokenCacheTimeout",
+            List.of(KeyType.CONFIG),
+            60L);
+
     /**
      * Cross-origin resource sharing origin header value.
      */
@@ -1345,6 +1474,42 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             86400L);
 
+    /**
+     * Store trips and stops in the database as they are detected during position processing. Trips and stops reports
+     * then read stored records and only calculate the period that is still open. Disabled by default.
+     */
+    public static final ConfigKey<Boolean> REPORT_TRIPS_STORE = new BooleanConfigKey(
+            "report.trips.store",
+            List.of(KeyType.CONFIG),
+            false);
+
+    /**
+     * Number of days of history to calculate and store as trips and stops on startup. It only applies when
+     * 'report.trips.store' is enabled. By default, no history is stored.
+     */
+    public static final ConfigKey<Integer> REPORT_TRIPS_BACKFILL = new IntegerConfigKey(
+            "report.trips.backfill",
+            List.of(KeyType.CONFIG),
+            0);
+
+    /**
+     * Maintain hourly position summaries for each device during processing. Summary reports use them for complete
+     * hours instead of reading all positions. Disabled by default.
+     */
+    public static final ConfigKey<Boolean> REPORT_SUMMARY_ROLLUP = new BooleanConfigKey(
+            "report.summary.rollup",
+            List.of(KeyType.CONFIG),
+            false);
+
+    /**
+     * Number of days of history to calculate hourly summaries for on startup. It only applies when
+     * 'report.summary.rollup' is enabled. By default, no history is calculated.
+     */
+    public static final ConfigKey<Integer> REPORT_SUMMARY_BACKFILL = new IntegerConfigKey(
+            "report.summary.backfill",
+            List.of(KeyType.CONFIG),
+            0);
+
     /**
      * Trips less than minimal duration and minimal distance are ignored. 300 seconds and 500 meters are default.
      */
@@ -1925,6 +2090,15 @@ public final class Keys {
             "web.healthCheck.dropThreshold",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Enable collection of internal performance metrics, such as processing handler timings, decoding time per
+     * protocol and database pool usage. Metrics are available to administrators in Prometheus text format using
+     * '/api/metrics' endpoint.
+     */
+    public static final ConfigKey<Boolean> METRICS_ENABLE = new BooleanConfigKey(
+            "metrics.enable",
+            List.of(KeyType.CONFIG));
+
     /**
      * Sets SameSite cookie attribute value.
      * Supported options: Lax, Strict, None.
@@ -2078,4 +2252,41 @@ public final class Keys {
             "broadcast.secondary",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Broadcast payload format. Available options are "json" and "binary". Binary payloads are smaller and faster
+     * to decode, and large multicast payloads are split into fragments. Nodes accept both formats, so the cluster
+     * can switch to binary after all nodes are upgraded.
+     */
+    public static final ConfigKey<String> BROADCAST_CODEC = new StringConfigKey(
+            "broadcast.codec",
+            List.of(KeyType.CONFIG),
+            "json");
+
+    /**
+     * Maximum number of messages combined into a single Redis broadcast payload.
+     */
+    public static final ConfigKey<Integer> BROADCAST_BATCH_SIZE = new IntegerConfigKey(
+            "broadcast.batchSize",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Maximum number of outgoing Redis broadcast position, event and interest messages waiting to be published. When
+     * the limit is reached, for example while the connection is down, new messages of these kinds are dropped. Cache
+     * invalidation, device and command messages are never dropped.
+     */
+    public static final ConfigKey<Integer> BROADCAST_QUEUE_SIZE = new IntegerConfigKey(
+            "broadcast.queueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Send position and event updates only to nodes that have connected clients interested in them. Each node
+     * publishes devices and users of its live update listeners. A node with too many of them to publish receives all
+     * updates instead. All nodes in the cluster must have the same value.
+     */
+    public static final ConfigKey<Boolean> BROADCAST_INTEREST_ROUTING = new BooleanConfigKey(
+            "broadcast.interestRouting",
+            List.of(KeyType.CONFIG));
+
 }
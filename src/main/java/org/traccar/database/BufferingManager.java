@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class BufferingManager {
 
@@ -78,6 +79,7 @@ public class BufferingManager {
     private final long threshold;
 
     private final Map<Long, TreeSet<Holder>> buffer = new HashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
 
     public BufferingManager(Config config, Callback callback) {
         this.callback = callback;
@@ -91,6 +93,7 @@ public class BufferingManager {
                     synchronized (buffer) {
                         buffer.get(holder.position.getDeviceId()).remove(holder);
                     }
+                    size.decrementAndGet();
                     holder.context.executor().execute(() -> {
                         callback.onReleased(holder.context, holder.position);
                     });
@@ -98,6 +101,10 @@ public class BufferingManager {
                 threshold, TimeUnit.MILLISECONDS);
     }
 
+    public int size() {
+        return size.get();
+    }
+
     public void accept(ChannelHandlerContext context, Position position) {
         if (threshold > 0) {
             synchronized (buffer) {
@@ -106,6 +113,7 @@ public class BufferingManager {
                 Holder holder = new Holder(context, position);
                 holder.timeout = scheduleTimeout(holder);
                 queue.add(holder);
+                size.incrementAndGet();
                 queue.tailSet(holder, false).forEach(h -> {
                     h.timeout.cancel();
                     h.timeout = scheduleTimeout(h);
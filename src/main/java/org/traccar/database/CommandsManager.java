@@ -42,13 +42,21 @@ import org.traccar.storage.query.Request;
 import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class CommandsManager implements BroadcastInterface {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandsManager.class);
+
     private final Storage storage;
     private final ServerManager serverManager;
     private final SmsManager smsManager;
@@ -58,6 +66,14 @@ public class CommandsManager implements BroadcastInterface {
     private final CacheManager cacheManager;
     private final CommandSenderManager commandSenderManager;
 
+    /**
+     * Devices that may have queued commands. Used to avoid querying the queue for every received message. Entries
+     * can be stale in the other direction, which only costs one extra query. The index is reloaded periodically, so
+     * commands with a lost broadcast or inserted by external tools are still delivered.
+     */
+    private final Set<Long> pendingDevices = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingIndexed;
+
     @Inject
     public CommandsManager(
             Storage storage, ServerManager serverManager, @Nullable SmsManager smsManager,
@@ -73,6 +89,21 @@ public class CommandsManager implements BroadcastInterface {
         this.cacheManager = cacheManager;
         this.commandSenderManager = commandSenderManager;
         broadcastService.registerListener(this);
+        loadPendingDevices();
+    }
+
+    /**
+     * Mark all devices that have queued commands. Entries are only added, so concurrent updates are never lost.
+     */
+    public void loadPendingDevices() {
+        try {
+            for (var command : storage.getObjects(QueuedCommand.class, new Request(new Columns.Include("deviceId")))) {
+                pendingDevices.add(command.getDeviceId());
+            }
+            pendingIndexed = true;
+        } catch (StorageException e) {
+            LOGGER.warn("Failed to load queued commands, queue will be checked for every message", e);
+        }
     }
 
     public QueuedCommand sendCommand(Command command) throws Exception {
@@ -105,6 +136,7 @@ public class CommandsManager implements BroadcastInterface {
                 } else if (!command.getBoolean(Command.KEY_NO_QUEUE)) {
                     QueuedCommand queuedCommand = QueuedCommand.fromCommand(command);
                     queuedCommand.setId(storage.addObject(queuedCommand, new Request(new Columns.Exclude("id"))));
+                    pendingDevices.add(deviceId);
                     broadcastService.updateCommand(true, deviceId);
                     return queuedCommand;
                 } else {
@@ -120,11 +152,18 @@ public class CommandsManager implements BroadcastInterface {
     }
 
     public Collection<Command> readQueuedCommands(long deviceId, int count) {
+        // remove before reading, so a command queued concurrently marks the device again
+        if (!pendingDevices.remove(deviceId) && pendingIndexed) {
+            return List.of();
+        }
         try {
             var commands = storage.getObjects(QueuedCommand.class, new Request(
                     new Columns.All(),
                     new Condition.Equals("deviceId", deviceId),
                     new Order("id", false, count)));
+            if (commands.size() >= count) {
+                pendingDevices.add(deviceId);
+            }
             Map<Event, Position> events = new HashMap<>();
             for (var command : commands) {
                 storage.removeObject(QueuedCommand.class, new Request(
@@ -137,6 +176,7 @@ public class CommandsManager implements BroadcastInterface {
             notificationManager.updateEvents(events);
             return commands.stream().map(QueuedCommand::toCommand).toList();
         } catch (StorageException e) {
+            pendingDevices.add(deviceId);
             throw new RuntimeException(e);
         }
     }
@@ -144,6 +184,7 @@ public class CommandsManager implements BroadcastInterface {
     @Override
     public void updateCommand(boolean local, long deviceId) {
         if (!local) {
+            pendingDevices.add(deviceId);
             DeviceSession deviceSession = connectionManager.getDeviceSession(deviceId);
             if (deviceSession != null && deviceSession.supportsLiveCommands()) {
                 for (Command command : readQueuedCommands(deviceId)) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for device state columns. Changed columns are merged per device, so each device is written at
+ * most once per flush regardless of the number of state transitions. The device object is expected to be the cached
+ * instance, which holds the latest values.
+ */
+@Singleton
+public class DeviceStateManager implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceStateManager.class);
+
+    private static final class PendingState {
+        private Device device;
+        private final Set<String> columns = new LinkedHashSet<>();
+    }
+
+    private final Storage storage;
+    private final long delay;
+
+    private final Map<Long, PendingState> pending = new ConcurrentHashMap<>();
+
+    @Inject
+    public DeviceStateManager(Config config, Storage storage) {
+        this.storage = storage;
+        delay = config.getInteger(Keys.DATABASE_DEVICE_STATE_DELAY);
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    public void updateState(Device device, String... columns) {
+        if (delay <= 0) {
+            write(device, List.of(columns));
+            return;
+        }
+        pending.compute(device.getId(), (id, state) -> {
+            if (state == null) {
+                state = new PendingState();
+            }
+            state.device = device;
+            state.columns.addAll(List.of(columns));
+            return state;
+        });
+    }
+
+    public void flush(long deviceId) {
+        PendingState state = pending.remove(deviceId);
+        if (state != null) {
+            write(state.device, state.columns);
+        }
+    }
+
+    public void flush() {
+        for (long deviceId : pending.keySet()) {
+            flush(deviceId);
+        }
+    }
+
+    private void write(Device device, Collection<String> columns) {
+        try {
+            storage.updateObject(device, new Request(
+                    new Columns.Include(columns.toArray(new String[0])),
+                    new Condition.Equals("id", device.getId())));
+        } catch (StorageException e) {
+            LOGGER.warn("Update device state error", e);
+        }
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        flush();
+    }
+
+}
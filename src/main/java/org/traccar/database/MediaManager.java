@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 - 2022 Anton Tananaev (anton@traccar.org)
+ * Copyright 2017 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.traccar.database;
 import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
@@ -32,19 +33,66 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class MediaManager {
+public class MediaManager implements LifecycleObject {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MediaManager.class);
 
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private record PendingFile(Path path, ByteBuf content, long queueTime) {
+    }
+
     private final String path;
+    private final String sync;
+    private final BlockingQueue<PendingFile> queue;
+    private final MetricsManager.Timer writeTimer;
+    private final MetricsManager.Counter droppedCounter;
+
+    private Thread thread;
+    private volatile boolean running = true;
 
     @Inject
-    public MediaManager(Config config) {
+    public MediaManager(Config config, MetricsManager metricsManager) {
         path = config.getString(Keys.MEDIA_PATH);
+        sync = config.getString(Keys.MEDIA_SYNC);
+        queue = new ArrayBlockingQueue<>(config.getInteger(Keys.MEDIA_QUEUE_SIZE));
+        writeTimer = metricsManager.timer("traccar_media_write_seconds");
+        droppedCounter = metricsManager.counter("traccar_media_dropped_total");
+        metricsManager.gauge("traccar_media_queue", queue::size);
+        if (path != null) {
+            thread = new Thread(this::writeLoop, "media-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void start() {
+    }
+
+    /**
+     * Stop accepting files and wait for the writer to store the queued ones.
+     */
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(STOP_TIMEOUT);
+            if (thread.isAlive()) {
+                LOGGER.warn("Media writer did not finish, {} files not written", queue.size());
+            }
+        }
     }
 
     private File createFile(String uniqueId, String name) throws IOException {
@@ -60,24 +108,102 @@ public class MediaManager {
         return new FileOutputStream(createFile(uniqueId, name + "." + extension));
     }
 
+    /**
+     * Queue media content for writing and return generated file name. Content is written by a background thread, so
+     * the caller (usually a network thread) is not blocked by disk access. Buffer is retained until it's written.
+     * If the queue is full or the manager is stopped, the file is dropped and null is returned.
+     */
     public String writeFile(String uniqueId, ByteBuf buf, String extension) {
-        if (path != null) {
-            int size = buf.readableBytes();
+        if (path != null && running) {
             String name = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date()) + "." + extension;
-            try (FileOutputStream output = new FileOutputStream(createFile(uniqueId, name));
-                    FileChannel fileChannel = output.getChannel()) {
-                    ByteBuffer byteBuffer = buf.nioBuffer();
-                int written = 0;
-                while (written < size) {
-                    written += fileChannel.write(byteBuffer);
+            PendingFile file = new PendingFile(
+                    Paths.get(path, uniqueId, name), buf.retainedSlice(), writeTimer.start());
+            if (!queue.offer(file)) {
+                file.content().release();
+                droppedCounter.increment();
+                LOGGER.warn("Media queue is full, file dropped");
+                return null;
+            }
+            if (!running && queue.remove(file)) {
+                // stopped concurrently and the writer may have already exited
+                file.content().release();
+                return null;
+            }
+            return name;
+        }
+        return null;
+    }
+
+    private void writeLoop() {
+        List<PendingFile> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingFile first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
                 }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Media writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private FileChannel write(PendingFile file) throws IOException {
+        Path directoryPath = file.path().getParent();
+        if (directoryPath != null) {
+            Files.createDirectories(directoryPath);
+        }
+        FileChannel fileChannel = FileChannel.open(
+                file.path(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer byteBuffer = file.content().nioBuffer();
+            while (byteBuffer.hasRemaining()) {
+                fileChannel.write(byteBuffer);
+            }
+            if (sync.equals("file")) {
                 fileChannel.force(false);
-                return name;
-            } catch (IOException e) {
-                LOGGER.warn("Save media file error", e);
+            }
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+        return fileChannel;
+    }
+
+    private void writeBatch(List<PendingFile> batch) {
+        List<FileChannel> channels = new ArrayList<>(batch.size());
+        try {
+            for (PendingFile file : batch) {
+                try {
+                    channels.add(write(file));
+                } catch (IOException e) {
+                    LOGGER.warn("Save media file error", e);
+                } finally {
+                    file.content().release();
+                }
+            }
+        } finally {
+            for (FileChannel fileChannel : channels) {
+                try (fileChannel) {
+                    if (sync.equals("batch")) {
+                        fileChannel.force(false);
+                    }
+                } catch (IOException e) {
+                    LOGGER.warn("Sync media file error", e);
+                }
+            }
+            for (PendingFile file : batch) {
+                writeTimer.recordSince(file.queueTime());
             }
         }
-        return null;
     }
 
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+@Singleton
+public class MetricsManager {
+
+    public static final class Timer {
+
+        private final boolean enabled;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private Timer(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Start time to pass to {@link #recordSince(long)}. Disabled timers don't read the clock.
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        public void record(long nanos) {
+            if (enabled) {
+                count.increment();
+                total.add(nanos);
+                max.accumulate(nanos);
+            }
+        }
+
+        public void recordSince(long startNanos) {
+            if (enabled) {
+                record(System.nanoTime() - startNanos);
+            }
+        }
+
+    }
+
+    public static final class Counter {
+
+        private final LongAdder value = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+    }
+
+    private static final Timer NOOP_TIMER = new Timer(false);
+
+    private record Key(String name, String labels) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int result = name.compareTo(other.name);
+            return result != 0 ? result : labels.compareTo(other.labels);
+        }
+    }
+
+    private final boolean enabled;
+
+    private final ConcurrentMap<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    @Inject
+    public MetricsManager(Config config) {
+        enabled = config.getBoolean(Keys.METRICS_ENABLE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static String formatLabels(String... labels) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            builder.append(builder.isEmpty() ? '{' : ',');
+            builder.append(labels[i]).append("=\"");
+            builder.append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"));
+            builder.append('"');
+        }
+        if (!builder.isEmpty()) {
+            builder.append('}');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get or create a latency timer. Labels are passed as name and value pairs. Returned instance should be kept by
+     * the caller, so the lookup is not repeated on the hot path.
+     */
+    public Timer timer(String name, String... labels) {
+        if (!enabled) {
+            return NOOP_TIMER;
+        }
+        return timers.computeIfAbsent(new Key(name, formatLabels(labels)), k -> new Timer(true));
+    }
+
+    public Counter counter(String name, String... labels) {
+        return counters.computeIfAbsent(new Key(name, formatLabels(labels)), k -> new Counter());
+    }
+
+    public void gauge(String name, DoubleSupplier supplier, String... labels) {
+        if (enabled) {
+            gauges.put(new Key(name, formatLabels(labels)), supplier);
+        }
+    }
+
+    private static void writeType(StringBuilder builder, String name, String type) {
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSample(StringBuilder builder, String name, String labels, double value) {
+        builder.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+        builder.append('\n');
+    }
+
+    /**
+     * Write all metrics in Prometheus text exposition format. Timer maximum values are reset on every call.
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+
+        String last = null;
+        for (Map.Entry<Key, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            String name = entry.getKey().name();
+            String labels = entry.getKey().labels();
+            Timer timer = entry.getValue();
+            if (!name.equals(last)) {
+                writeType(builder, name, "summary");
+                last = name;
+            }
+            writeSample(builder, name + "_count", labels, timer.count.sum());
+            writeSample(builder, name + "_sum", labels, timer.total.sum() / 1e9);
+        }
+        last = null;
+        for (Map.Entry<Key, Timer> entry : new TreeMap<>(timers).entrySet()) {
+            String name = entry.getKey().name() + "_max";
+            if (!name.equals(last)) {
+                writeType(builder, name, "gauge");
+                last = name;
+            }
+            writeSample(builder, name, entry.getKey().labels(), entry.getValue().max.getThenReset() / 1e9);
+        }
+
+        last = null;
+        for (Map.Entry<Key, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            String name = entry.getKey().name();
+            if (!name.equals(last)) {
+                writeType(builder, name, "counter");
+                last = name;
+            }
+            writeSample(builder, name, entry.getKey().labels(), entry.getValue().value.sum());
+        }
+
+        last = null;
+        for (Map.Entry<Key, DoubleSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            String name = entry.getKey().name();
+            if (!name.equals(last)) {
+                writeType(builder, name, "gauge");
+                last = name;
+            }
+            writeSample(builder, name, entry.getKey().labels(), entry.getValue().getAsDouble());
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.PositionUtil;
+import org.traccar.model.Position;
+import org.traccar.model.Rollup;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hourly rollups of device positions. The current hour of each device is kept in memory and written periodically.
+ * Rollups are only maintained from the earliest stored hour of a device onwards, so the earliest rollup defines the
+ * start of the covered period. Changed rollups are written on stop. Updates that were not written before an
+ * unexpected shutdown are restored on start, before network servers accept connections, by calculating the latest
+ * stored hour of recently active devices again. Updates and recalculations of a device are serialized with a per
+ * device lock, so they never load and write the same period at the same time.
+ */
+@Singleton
+public class RollupManager implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollupManager.class);
+
+    public static final long PERIOD = TimeUnit.HOURS.toMillis(1);
+
+    private static final long NO_COVERAGE = Long.MAX_VALUE;
+
+    private static final class Bucket {
+        private final Rollup rollup;
+        private boolean dirty;
+
+        private Bucket(Rollup rollup) {
+            this.rollup = rollup;
+        }
+    }
+
+    private final ConcurrentMap<Long, Object> locks = new ConcurrentHashMap<>();
+
+    private final Storage storage;
+    private final boolean enabled;
+
+    private final ConcurrentMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> coverage = new ConcurrentHashMap<>();
+
+    @Inject
+    public RollupManager(Config config, Storage storage) {
+        this.storage = storage;
+        enabled = config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private Object lock(long deviceId) {
+        return locks.computeIfAbsent(deviceId, key -> new Object());
+    }
+
+    /**
+     * Only devices with rollups in the last two periods before the latest stored one can have unwritten updates,
+     * because buckets are written every minute and released once their period is over.
+     */
+    @Override
+    public void start() throws StorageException {
+        if (!enabled) {
+            return;
+        }
+        Rollup latest = storage.getObject(Rollup.class, new Request(
+                new Columns.Include("periodTime"), new Order("periodTime", true, 1)));
+        if (latest == null) {
+            return;
+        }
+        Map<Long, Date> last = new HashMap<>();
+        for (Rollup rollup : storage.getObjects(Rollup.class, new Request(
+                new Columns.Include("deviceId", "periodTime"),
+                new Condition.Compare("periodTime", ">=", new Date(latest.getPeriodTime().getTime() - PERIOD)),
+                new Order("periodTime")))) {
+            last.put(rollup.getDeviceId(), rollup.getPeriodTime());
+        }
+        Date now = new Date();
+        for (Map.Entry<Long, Date> entry : last.entrySet()) {
+            if (entry.getValue().before(now)) {
+                recalculate(entry.getKey(), entry.getValue(), now);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    public static long floorPeriod(long time) {
+        return Math.floorDiv(time, PERIOD) * PERIOD;
+    }
+
+    public static long ceilPeriod(long time) {
+        return -Math.floorDiv(-time, PERIOD) * PERIOD;
+    }
+
+    /**
+     * Start of the covered period for the device or null if there are no rollups.
+     */
+    public Date getCoverageStart(long deviceId) throws StorageException {
+        long start = getCoverage(deviceId);
+        return start != NO_COVERAGE ? new Date(start) : null;
+    }
+
+    private long getCoverage(long deviceId) throws StorageException {
+        Long start = coverage.get(deviceId);
+        if (start == null) {
+            Rollup first = storage.getObject(Rollup.class, new Request(
+                    new Columns.Include("periodTime"),
+                    new Condition.Equals("deviceId", deviceId),
+                    new Order("periodTime", false, 1)));
+            start = first != null ? first.getPeriodTime().getTime() : NO_COVERAGE;
+            coverage.put(deviceId, start);
+        }
+        return start;
+    }
+
+    /**
+     * Get stored rollups with period time in the range, including the start and excluding the end.
+     */
+    public List<Rollup> getRollups(long deviceId, Date from, Date to) throws StorageException {
+        return storage.getObjects(Rollup.class, new Request(
+                new Columns.All(),
+                Condition.merge(List.of(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Compare("periodTime", ">=", from),
+                        new Condition.Compare("periodTime", "<", to))),
+                new Order("periodTime")));
+    }
+
+    private static void apply(Rollup rollup, Position position) {
+        Date time = position.getFixTime();
+        if (rollup.getStartTime() == null || time.before(rollup.getStartTime())) {
+            rollup.setStartTime(time);
+            rollup.setStartPositionId(position.getId());
+        }
+        if (rollup.getEndTime() == null || !time.before(rollup.getEndTime())) {
+            rollup.setEndTime(time);
+            rollup.setEndPositionId(position.getId());
+        }
+        rollup.setMaxSpeed(Math.max(rollup.getMaxSpeed(), position.getSpeed()));
+    }
+
+    private void write(Rollup rollup) throws StorageException {
+        if (rollup.getId() == 0) {
+            rollup.setId(storage.addObject(rollup, new Request(new Columns.Exclude("id"))));
+        } else {
+            storage.updateObject(rollup, new Request(
+                    new Columns.Exclude("id"), new Condition.Equals("id", rollup.getId())));
+        }
+    }
+
+    private Rollup load(long deviceId, long period) throws StorageException {
+        Rollup rollup = storage.getObject(Rollup.class, new Request(
+                new Columns.All(),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Equals("periodTime", new Date(period)))));
+        if (rollup == null) {
+            rollup = new Rollup();
+            rollup.setDeviceId(deviceId);
+            rollup.setPeriodTime(new Date(period));
+        }
+        return rollup;
+    }
+
+    public void updatePosition(Position position) {
+        if (position.getId() == 0 || position.getFixTime() == null) {
+            return;
+        }
+        long deviceId = position.getDeviceId();
+        long period = floorPeriod(position.getFixTime().getTime());
+        synchronized (lock(deviceId)) {
+            try {
+                Bucket bucket = buckets.get(deviceId);
+                if (bucket == null || bucket.rollup.getPeriodTime().getTime() != period) {
+                    long start = getCoverage(deviceId);
+                    if (start != NO_COVERAGE && period < start) {
+                        return;
+                    }
+                    if (bucket != null) {
+                        flush(bucket);
+                    }
+                    bucket = new Bucket(load(deviceId, period));
+                    buckets.put(deviceId, bucket);
+                    if (start == NO_COVERAGE) {
+                        coverage.put(deviceId, period);
+                    }
+                }
+                apply(bucket.rollup, position);
+                bucket.dirty = true;
+            } catch (StorageException e) {
+                LOGGER.warn("Rollup update error", e);
+            }
+        }
+    }
+
+    private void flush(Bucket bucket) throws StorageException {
+        if (bucket.dirty) {
+            write(bucket.rollup);
+            bucket.dirty = false;
+        }
+    }
+
+    /**
+     * Write changed rollups and release the ones for periods that ended more than one period ago.
+     */
+    public void flush() {
+        long expired = floorPeriod(System.currentTimeMillis()) - PERIOD;
+        for (long deviceId : buckets.keySet()) {
+            synchronized (lock(deviceId)) {
+                Bucket bucket = buckets.get(deviceId);
+                if (bucket == null) {
+                    continue;
+                }
+                try {
+                    flush(bucket);
+                    if (bucket.rollup.getPeriodTime().getTime() < expired) {
+                        buckets.remove(deviceId);
+                    }
+                } catch (StorageException e) {
+                    LOGGER.warn("Rollup flush error", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculate rollups for the range again from stored positions. It is used after positions are deleted or
+     * history is added outside of normal processing.
+     */
+    public void recalculate(long deviceId, Date from, Date to) throws StorageException {
+        synchronized (lock(deviceId)) {
+            recalculateLocked(deviceId, from, to);
+        }
+    }
+
+    private void recalculateLocked(long deviceId, Date from, Date to) throws StorageException {
+        long start = floorPeriod(from.getTime());
+        long end = ceilPeriod(to.getTime() + 1);
+
+        Bucket bucket = buckets.get(deviceId);
+        if (bucket != null) {
+            long period = bucket.rollup.getPeriodTime().getTime();
+            if (period >= start && period < end) {
+                buckets.remove(deviceId, bucket);
+            }
+        }
+
+        storage.removeObject(Rollup.class, new Request(Condition.merge(List.of(
+                new Condition.Equals("deviceId", deviceId),
+                new Condition.Compare("periodTime", ">=", new Date(start)),
+                new Condition.Compare("periodTime", "<", new Date(end))))));
+
+        Map<Long, Rollup> rollups = new TreeMap<>();
+        try (var positions = PositionUtil.getPositionsStream(
+                storage, deviceId, new Date(start), new Date(end - 1),
+                new Columns.Include("id", "deviceId", "fixTime", "speed"), 0)) {
+            positions.forEach(position -> {
+                long period = floorPeriod(position.getFixTime().getTime());
+                apply(rollups.computeIfAbsent(period, key -> {
+                    Rollup rollup = new Rollup();
+                    rollup.setDeviceId(deviceId);
+                    rollup.setPeriodTime(new Date(key));
+                    return rollup;
+                }), position);
+            });
+        }
+        for (Rollup rollup : rollups.values()) {
+            write(rollup);
+        }
+        coverage.remove(deviceId);
+    }
+
+}
@@ -37,10 +37,12 @@ import jakarta.ws.rs.core.Form;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class StatisticsManager {
@@ -49,6 +51,8 @@ public class StatisticsManager {
 
     private static final int SPLIT_MODE = Calendar.DAY_OF_MONTH;
 
+    private static final String PROTOCOL_UNKNOWN = "";
+
     private final Config config;
     private final Storage storage;
     private final Client client;
@@ -56,17 +60,17 @@ public class StatisticsManager {
 
     private final AtomicInteger lastUpdate = new AtomicInteger(Calendar.getInstance().get(SPLIT_MODE));
 
-    private final Set<Long> users = new HashSet<>();
-    private final Map<Long, String> deviceProtocols = new HashMap<>();
-    private final Map<Long, Integer> deviceMessages = new HashMap<>();
+    private final Set<Long> users = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, String> deviceProtocols = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> deviceMessages = new ConcurrentHashMap<>();
 
-    private int requests;
-    private int messagesReceived;
-    private int messagesStored;
-    private int mailSent;
-    private int smsSent;
-    private int geocoderRequests;
-    private int geolocationRequests;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder messagesStored = new LongAdder();
+    private final LongAdder mailSent = new LongAdder();
+    private final LongAdder smsSent = new LongAdder();
+    private final LongAdder geocoderRequests = new LongAdder();
+    private final LongAdder geolocationRequests = new LongAdder();
 
     @Inject
     public StatisticsManager(Config config, Storage storage, Client client, ObjectMapper objectMapper) {
@@ -76,41 +80,52 @@ public class StatisticsManager {
         this.objectMapper = objectMapper;
     }
 
-    private void checkSplit() {
+    private static <K> int drain(Set<K> set) {
+        int count = 0;
+        for (K key : set) {
+            if (set.remove(key)) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Store accumulated statistics when the day changes. Called periodically from a scheduled task, so counter
+     * updates don't need to check the date. Counters are drained atomically, so every update is accounted for in
+     * either the closing or the next period.
+     */
+    public void checkSplit() {
         int currentUpdate = Calendar.getInstance().get(SPLIT_MODE);
         if (lastUpdate.getAndSet(currentUpdate) != currentUpdate) {
             Statistics statistics = new Statistics();
 
-            synchronized (this) {
-                statistics.setCaptureTime(new Date());
-                statistics.setActiveUsers(users.size());
-                statistics.setActiveDevices(deviceProtocols.size());
-                statistics.setRequests(requests);
-                statistics.setMessagesReceived(messagesReceived);
-                statistics.setMessagesStored(messagesStored);
-                statistics.setMailSent(mailSent);
-                statistics.setSmsSent(smsSent);
-                statistics.setGeocoderRequests(geocoderRequests);
-                statistics.setGeolocationRequests(geolocationRequests);
-                if (!deviceProtocols.isEmpty()) {
-                    Map<String, Integer> protocols = new HashMap<>();
-                    for (String protocol : deviceProtocols.values()) {
-                        protocols.compute(protocol, (key, count) -> count != null ? count + 1 : 1);
+            statistics.setCaptureTime(new Date());
+            statistics.setActiveUsers(drain(users));
+            statistics.setRequests((int) requests.sumThenReset());
+            statistics.setMessagesReceived((int) messagesReceived.sumThenReset());
+            statistics.setMessagesStored((int) messagesStored.sumThenReset());
+            statistics.setMailSent((int) mailSent.sumThenReset());
+            statistics.setSmsSent((int) smsSent.sumThenReset());
+            statistics.setGeocoderRequests((int) geocoderRequests.sumThenReset());
+            statistics.setGeolocationRequests((int) geolocationRequests.sumThenReset());
+
+            int activeDevices = 0;
+            Map<String, Integer> protocols = new HashMap<>();
+            for (Long deviceId : deviceProtocols.keySet()) {
+                String protocol = deviceProtocols.remove(deviceId);
+                if (protocol != null) {
+                    activeDevices += 1;
+                    if (!protocol.equals(PROTOCOL_UNKNOWN)) {
+                        protocols.merge(protocol, 1, Integer::sum);
                     }
-                    statistics.setProtocols(protocols);
                 }
-
-                users.clear();
-                deviceProtocols.clear();
-                deviceMessages.clear();
-                requests = 0;
-                messagesReceived = 0;
-                messagesStored = 0;
-                mailSent = 0;
-                smsSent = 0;
-                geocoderRequests = 0;
-                geolocationRequests = 0;
             }
+            statistics.setActiveDevices(activeDevices);
+            if (!protocols.isEmpty()) {
+                statistics.setProtocols(protocols);
+            }
+            deviceMessages.clear();
 
             try {
                 storage.addObject(statistics, new Request(new Columns.Exclude("id")));
@@ -154,54 +169,48 @@ public class StatisticsManager {
         }
     }
 
-    public synchronized void registerRequest(long userId) {
-        checkSplit();
-        requests += 1;
+    public void registerRequest(long userId) {
+        requests.increment();
         if (userId != 0 && userId != ServiceAccountUser.ID) {
             users.add(userId);
         }
     }
 
-    public synchronized void registerMessageReceived() {
-        checkSplit();
-        messagesReceived += 1;
+    public void registerMessageReceived() {
+        messagesReceived.increment();
     }
 
-    public synchronized void registerMessageStored(long deviceId, String protocol) {
-        checkSplit();
-        messagesStored += 1;
+    public void registerMessageStored(long deviceId, String protocol) {
+        messagesStored.increment();
         if (deviceId != 0) {
-            deviceProtocols.put(deviceId, protocol);
-            deviceMessages.merge(deviceId, 1, Integer::sum);
+            deviceProtocols.put(deviceId, protocol != null ? protocol : PROTOCOL_UNKNOWN);
+            deviceMessages.computeIfAbsent(deviceId, k -> new LongAdder()).increment();
         }
     }
 
-    public synchronized int messageStoredCount() {
-        return messagesStored;
+    public int messageStoredCount() {
+        return messagesStored.intValue();
     }
 
-    public synchronized int messageStoredCount(long deviceId) {
-        return deviceMessages.getOrDefault(deviceId, 0);
+    public int messageStoredCount(long deviceId) {
+        LongAdder count = deviceMessages.get(deviceId);
+        return count != null ? count.intValue() : 0;
     }
 
-    public synchronized void registerMail() {
-        checkSplit();
-        mailSent += 1;
+    public void registerMail() {
+        mailSent.increment();
     }
 
-    public synchronized void registerSms() {
-        checkSplit();
-        smsSent += 1;
+    public void registerSms() {
+        smsSent.increment();
     }
 
-    public synchronized void registerGeocoderRequest() {
-        checkSplit();
-        geocoderRequests += 1;
+    public void registerGeocoderRequest() {
+        geocoderRequests.increment();
     }
 
-    public synchronized void registerGeolocationRequest() {
-        checkSplit();
-        geolocationRequests += 1;
+    public void registerGeolocationRequest() {
+        geolocationRequests.increment();
     }
 
 }
@@ -27,6 +27,10 @@ import java.util.List;
 
 public class GeofencePolygon extends GeofenceGeometry {
 
+    private static final int INDEX_THRESHOLD = 64;
+    private static final int INDEX_EDGES_PER_BUCKET = 4;
+    private static final int INDEX_MAX_BUCKETS = 4096;
+
     private final List<Coordinate> coordinates;
 
     private final double[] constant;
@@ -34,6 +38,11 @@ public class GeofencePolygon extends GeofenceGeometry {
 
     private final boolean needNormalize;
 
+    private double[] normalizedLon;
+    private int[][] buckets;
+    private double bucketMin;
+    private double bucketScale;
+
     public GeofencePolygon(String wkt) throws ParseException {
         coordinates = fromWkt(wkt);
         calculateBoundary(coordinates, 0);
@@ -70,6 +79,59 @@ public class GeofencePolygon extends GeofenceGeometry {
                         / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
             }
         }
+
+        if (polyCorners >= INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    private int bucketIndex(double lon) {
+        int index = (int) ((lon - bucketMin) * bucketScale);
+        return Math.max(0, Math.min(buckets.length - 1, index));
+    }
+
+    /**
+     * Split normalized longitude range into equal buckets and record which edges span each of them. Only edges from a
+     * single bucket can be crossed by the ray, so lookup cost no longer depends on the total number of vertices.
+     */
+    private void buildIndex() {
+        int polyCorners = coordinates.size();
+        normalizedLon = new double[polyCorners];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < polyCorners; i++) {
+            normalizedLon[i] = normalizeLon(coordinates.get(i).lon());
+            min = Math.min(min, normalizedLon[i]);
+            max = Math.max(max, normalizedLon[i]);
+        }
+        if (!(max > min)) {
+            return;
+        }
+
+        int count = Math.min(INDEX_MAX_BUCKETS, polyCorners / INDEX_EDGES_PER_BUCKET);
+        buckets = new int[count][];
+        bucketMin = min;
+        bucketScale = count / (max - min);
+
+        int[] sizes = new int[count];
+        for (int i = 0, j = polyCorners - 1; i < polyCorners; j = i++) {
+            int from = bucketIndex(Math.min(normalizedLon[i], normalizedLon[j]));
+            int to = bucketIndex(Math.max(normalizedLon[i], normalizedLon[j]));
+            for (int k = from; k <= to; k++) {
+                sizes[k]++;
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            buckets[k] = new int[sizes[k]];
+            sizes[k] = 0;
+        }
+        for (int i = 0, j = polyCorners - 1; i < polyCorners; j = i++) {
+            int from = bucketIndex(Math.min(normalizedLon[i], normalizedLon[j]));
+            int to = bucketIndex(Math.max(normalizedLon[i], normalizedLon[j]));
+            for (int k = from; k <= to; k++) {
+                buckets[k][sizes[k]++] = i;
+            }
+        }
     }
 
     private double normalizeLon(double lon) {
@@ -82,6 +144,10 @@ public class GeofencePolygon extends GeofenceGeometry {
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
 
+        if (buckets != null) {
+            return containsPointIndexed(latitude, normalizeLon(longitude));
+        }
+
         int polyCorners = coordinates.size();
         int i;
         int j = polyCorners - 1;
@@ -99,6 +165,19 @@ public class GeofencePolygon extends GeofenceGeometry {
         return oddNodes;
     }
 
+    private boolean containsPointIndexed(double latitude, double longitudeNorm) {
+        int polyCorners = normalizedLon.length;
+        boolean oddNodes = false;
+        for (int i : buckets[bucketIndex(longitudeNorm)]) {
+            double lonI = normalizedLon[i];
+            double lonJ = normalizedLon[i > 0 ? i - 1 : polyCorners - 1];
+            if (lonI < longitudeNorm && lonJ >= longitudeNorm || lonJ < longitudeNorm && lonI >= longitudeNorm) {
+                oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+            }
+        }
+        return oddNodes;
+    }
+
     @Override
     public double calculateArea() {
         JtsShapeFactory jtsShapeFactory = new JtsSpatialContextFactory().newSpatialContext().getShapeFactory();
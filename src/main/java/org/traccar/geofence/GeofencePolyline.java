@@ -24,17 +24,122 @@ import org.traccar.helper.DistanceCalculator;
 
 public class GeofencePolyline extends GeofenceGeometry {
 
+    private static final int INDEX_THRESHOLD = 64;
+    private static final int NODE_SIZE = 16;
+
+    /**
+     * Segment bounding boxes are expanded by this factor of the polyline distance, so that planar check never
+     * rejects a point that precise distance calculation would accept.
+     */
+    private static final double BOX_MARGIN = 2;
+
     private final List<Coordinate> coordinates;
     private final double polylineDistance;
 
+    /**
+     * Packed tree of bounding boxes. Level zero contains one box per segment, every next level contains one box per
+     * {@link #NODE_SIZE} consecutive boxes of the previous level. Each box is stored as min lat, max lat, min lon and
+     * max lon. Consecutive segments of a line are close to each other, so sequence order gives tight nodes without
+     * any sorting.
+     */
+    private double[][] levels;
+
     public GeofencePolyline(String wkt, double polylineDistance) throws ParseException {
         coordinates = fromWkt(wkt);
         calculateBoundary(coordinates, polylineDistance);
         this.polylineDistance = polylineDistance;
+        if (coordinates.size() > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    private void buildIndex() {
+        int segments = coordinates.size() - 1;
+        double latMargin = DistanceCalculator.getLatitudeDelta(polylineDistance) * BOX_MARGIN;
+        List<double[]> result = new ArrayList<>();
+
+        double[] boxes = new double[segments * 4];
+        for (int i = 0; i < segments; i++) {
+            Coordinate start = coordinates.get(i);
+            Coordinate end = coordinates.get(i + 1);
+            double lonSpan = Math.toRadians(Math.abs(start.lon() - end.lon()));
+            double bulge = Math.toDegrees(lonSpan * lonSpan / 8); // great circle deviation from the box
+            double minLat = Math.min(start.lat(), end.lat()) - latMargin - bulge;
+            double maxLat = Math.max(start.lat(), end.lat()) + latMargin + bulge;
+            boxes[i * 4] = minLat;
+            boxes[i * 4 + 1] = maxLat;
+            if (lonSpan > Math.PI || maxLat >= 90 || minLat <= -90) {
+                boxes[i * 4 + 2] = Double.NEGATIVE_INFINITY;
+                boxes[i * 4 + 3] = Double.POSITIVE_INFINITY;
+            } else {
+                double lonMargin = DistanceCalculator.getLongitudeDelta(
+                        polylineDistance, Math.max(Math.abs(minLat), Math.abs(maxLat))) * BOX_MARGIN;
+                boxes[i * 4 + 2] = Math.min(start.lon(), end.lon()) - lonMargin;
+                boxes[i * 4 + 3] = Math.max(start.lon(), end.lon()) + lonMargin;
+                if (boxes[i * 4 + 2] < -180 || boxes[i * 4 + 3] > 180) {
+                    boxes[i * 4 + 2] = Double.NEGATIVE_INFINITY;
+                    boxes[i * 4 + 3] = Double.POSITIVE_INFINITY;
+                }
+            }
+        }
+        result.add(boxes);
+
+        while (boxes.length > NODE_SIZE * 4) {
+            int count = boxes.length / 4;
+            double[] parents = new double[(count + NODE_SIZE - 1) / NODE_SIZE * 4];
+            for (int i = 0; i < count; i++) {
+                int parent = i / NODE_SIZE * 4;
+                if (i % NODE_SIZE == 0) {
+                    System.arraycopy(boxes, i * 4, parents, parent, 4);
+                } else {
+                    parents[parent] = Math.min(parents[parent], boxes[i * 4]);
+                    parents[parent + 1] = Math.max(parents[parent + 1], boxes[i * 4 + 1]);
+                    parents[parent + 2] = Math.min(parents[parent + 2], boxes[i * 4 + 2]);
+                    parents[parent + 3] = Math.max(parents[parent + 3], boxes[i * 4 + 3]);
+                }
+            }
+            result.add(parents);
+            boxes = parents;
+        }
+
+        levels = result.toArray(new double[0][]);
+    }
+
+    private boolean checkSegment(int index, double latitude, double longitude) {
+        return DistanceCalculator.distanceToLine(
+                latitude, longitude, coordinates.get(index).lat(), coordinates.get(index).lon(),
+                coordinates.get(index + 1).lat(), coordinates.get(index + 1).lon()) <= polylineDistance;
+    }
+
+    private boolean searchIndex(int level, int from, int to, double latitude, double longitude) {
+        double[] boxes = levels[level];
+        for (int i = from; i < to; i++) {
+            int offset = i * 4;
+            if (latitude >= boxes[offset] && latitude <= boxes[offset + 1]
+                    && longitude >= boxes[offset + 2] && longitude <= boxes[offset + 3]) {
+                if (level == 0) {
+                    if (checkSegment(i, latitude, longitude)) {
+                        return true;
+                    }
+                } else {
+                    int childCount = levels[level - 1].length / 4;
+                    int childFrom = i * NODE_SIZE;
+                    int childTo = Math.min(childFrom + NODE_SIZE, childCount);
+                    if (searchIndex(level - 1, childFrom, childTo, latitude, longitude)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
     }
 
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
+        if (levels != null) {
+            int top = levels.length - 1;
+            return searchIndex(top, 0, levels[top].length / 4, latitude, longitude);
+        }
         for (int i = 1; i < coordinates.size(); i++) {
             if (DistanceCalculator.distanceToLine(
                     latitude, longitude, coordinates.get(i - 1).lat(), coordinates.get(i - 1).lon(),
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.handler;
+
+import org.traccar.database.RollupManager;
+import org.traccar.model.Position;
+
+public class RollupHandler extends BasePositionHandler {
+
+    private final RollupManager rollupManager;
+
+    public RollupHandler(RollupManager rollupManager) {
+        this.rollupManager = rollupManager;
+    }
+
+    @Override
+    public void onPosition(Position position, Callback callback) {
+        rollupManager.updatePosition(position);
+        callback.processed(false);
+    }
+
+}
@@ -17,34 +17,30 @@
 package org.traccar.handler.events;
 
 import jakarta.inject.Inject;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.traccar.config.Keys;
+import org.traccar.database.DeviceStateManager;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.reports.common.TripsConfig;
+import org.traccar.reports.common.TripsHistory;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.session.state.MotionProcessor;
 import org.traccar.session.state.MotionState;
-import org.traccar.storage.Storage;
-import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Request;
 
 public class MotionEventHandler extends BaseEventHandler {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MotionEventHandler.class);
-
     private final CacheManager cacheManager;
-    private final Storage storage;
+    private final DeviceStateManager deviceStateManager;
+    private final TripsHistory tripsHistory;
 
     @Inject
-    public MotionEventHandler(CacheManager cacheManager, Storage storage) {
+    public MotionEventHandler(
+            CacheManager cacheManager, DeviceStateManager deviceStateManager, TripsHistory tripsHistory) {
         this.cacheManager = cacheManager;
-        this.storage = storage;
+        this.deviceStateManager = deviceStateManager;
+        this.tripsHistory = tripsHistory;
     }
 
     @Override
@@ -67,15 +63,10 @@ public class MotionEventHandler extends BaseEventHandler {
         MotionProcessor.updateState(state, last, position, position.getBoolean(Position.KEY_MOTION), tripsConfig);
         if (state.isChanged()) {
             state.toDevice(device);
-            try {
-                storage.updateObject(device, new Request(
-                        new Columns.Include("motionStreak", "motionState", "motionTime", "motionDistance"),
-                        new Condition.Equals("id", device.getId())));
-            } catch (StorageException e) {
-                LOGGER.warn("Update device motion error", e);
-            }
+            deviceStateManager.updateState(device, "motionStreak", "motionState", "motionTime", "motionDistance");
         }
         if (state.getEvent() != null) {
+            tripsHistory.onMotionEvent(device, state.getEvent());
             callback.eventDetected(state.getEvent());
         }
     }
@@ -15,6 +15,9 @@
  */
 package org.traccar.helper;
 
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
@@ -22,13 +25,46 @@ import java.util.regex.Pattern;
 
 public class Parser {
 
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Largest number of digits for each radix that can not overflow a long, so the value can be accumulated without
+     * range checks.
+     */
+    private static final int[] MAX_SAFE_DIGITS = new int[Character.MAX_RADIX + 1];
+
+    static {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+            long limit = 1;
+            int digits = 0;
+            while (limit <= Long.MAX_VALUE / radix) {
+                limit *= radix;
+                digits += 1;
+            }
+            MAX_SAFE_DIGITS[radix] = digits;
+        }
+    }
+
     private int position;
+    private final CharSequence input;
     private final Matcher matcher;
 
-    public Parser(Pattern pattern, String input) {
+    public Parser(Pattern pattern, CharSequence input) {
+        this.input = input;
         matcher = pattern.matcher(input);
     }
 
+    /**
+     * Match directly against ASCII buffer content without decoding it into a string first.
+     */
+    public Parser(Pattern pattern, ByteBuf buf) {
+        this(pattern, new BufferSequence(buf, buf.readerIndex(), buf.readableBytes()));
+    }
+
     public boolean matches() {
         position = 1;
         return matcher.matches();
@@ -49,8 +85,7 @@ public class Parser {
 
     public boolean hasNext(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value == null || value.isEmpty()) {
+            if (isEmpty(i)) {
                 position += number;
                 return false;
             }
@@ -60,8 +95,7 @@ public class Parser {
 
     public boolean hasNextAny(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value != null && !value.isEmpty()) {
+            if (!isEmpty(i)) {
                 return true;
             }
         }
@@ -69,13 +103,133 @@ public class Parser {
         return false;
     }
 
+    private boolean isEmpty(int group) {
+        int start = matcher.start(group);
+        return start < 0 || start == matcher.end(group);
+    }
+
     public String next() {
         return matcher.group(position++);
     }
 
+    private int nextIntValue(int radix) {
+        long value = nextLongValue(radix);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Integer out of range");
+        }
+        return (int) value;
+    }
+
+    private long nextLongValue(int radix) {
+        int group = position;
+        int start = matcher.start(group);
+        int end = matcher.end(group);
+        boolean negative = false;
+        if (start < end) {
+            char first = input.charAt(start);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                start += 1;
+            }
+        }
+        if (start == end || end - start > maxSafeDigits(radix)) {
+            return Long.parseLong(next(), radix);
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(input.charAt(i), radix);
+            if (digit < 0) {
+                return Long.parseLong(next(), radix);
+            }
+            value = value * radix + digit;
+        }
+        position += 1;
+        return negative ? -value : value;
+    }
+
+    private static int maxSafeDigits(int radix) {
+        return radix >= Character.MIN_RADIX && radix <= Character.MAX_RADIX ? MAX_SAFE_DIGITS[radix] : 0;
+    }
+
+    private double nextDoubleValue() {
+        int group = position;
+        double value = parseDecimal(matcher.start(group), matcher.end(group), -1, -1);
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(next());
+        }
+        position += 1;
+        return value;
+    }
+
+    private double nextDecimalValue() {
+        int group = position;
+        int fractionStart = matcher.start(group + 1);
+        double value = fractionStart < 0 ? Double.NaN : parseDecimal(
+                matcher.start(group), matcher.end(group), fractionStart, matcher.end(group + 1));
+        if (Double.isNaN(value)) {
+            return Double.parseDouble(next() + '.' + next());
+        }
+        position += 2;
+        return value;
+    }
+
+    /**
+     * Parse plain decimal notation from the input without allocating. The result is only computed when mantissa and
+     * power of ten are both exactly representable, so it matches {@link Double#parseDouble}; otherwise NaN is returned
+     * and the caller falls back to the string conversion.
+     */
+    private double parseDecimal(int start, int end, int fractionStart, int fractionEnd) {
+        if (start < 0) {
+            return Double.NaN;
+        }
+        boolean negative = false;
+        if (start < end) {
+            char first = input.charAt(start);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                start += 1;
+            }
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = fractionStart >= 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits += 1;
+                if (point) {
+                    scale += 1;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (fractionStart >= 0) {
+            scale = 0;
+            for (int i = fractionStart; i < fractionEnd; i++) {
+                char c = input.charAt(i);
+                if (c < '0' || c > '9') {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits += 1;
+                scale += 1;
+            }
+        }
+        if (digits == 0 || digits > MAX_EXACT_DIGITS || scale >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
     public Integer nextInt() {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return nextIntValue(10);
         } else {
             return null;
         }
@@ -83,7 +237,7 @@ public class Parser {
 
     public int nextInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return nextIntValue(10);
         } else {
             return defaultValue;
         }
@@ -91,7 +245,7 @@ public class Parser {
 
     public Integer nextHexInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return nextIntValue(16);
         } else {
             return null;
         }
@@ -99,7 +253,7 @@ public class Parser {
 
     public int nextHexInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return nextIntValue(16);
         } else {
             return defaultValue;
         }
@@ -107,7 +261,7 @@ public class Parser {
 
     public Integer nextBinInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return nextIntValue(2);
         } else {
             return null;
         }
@@ -115,7 +269,7 @@ public class Parser {
 
     public int nextBinInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return nextIntValue(2);
         } else {
             return defaultValue;
         }
@@ -123,7 +277,7 @@ public class Parser {
 
     public Long nextLong() {
         if (hasNext()) {
-            return Long.parseLong(next());
+            return nextLongValue(10);
         } else {
             return null;
         }
@@ -131,7 +285,7 @@ public class Parser {
 
     public Long nextHexLong() {
         if (hasNext()) {
-            return Long.parseLong(next(), 16);
+            return nextLongValue(16);
         } else {
             return null;
         }
@@ -143,7 +297,7 @@ public class Parser {
 
     public long nextLong(int radix, long defaultValue) {
         if (hasNext()) {
-            return Long.parseLong(next(), radix);
+            return nextLongValue(radix);
         } else {
             return defaultValue;
         }
@@ -151,7 +305,7 @@ public class Parser {
 
     public Double nextDouble() {
         if (hasNext()) {
-            return Double.parseDouble(next());
+            return nextDoubleValue();
         } else {
             return null;
         }
@@ -159,7 +313,7 @@ public class Parser {
 
     public double nextDouble(double defaultValue) {
         if (hasNext()) {
-            return Double.parseDouble(next());
+            return nextDoubleValue();
         } else {
             return defaultValue;
         }
@@ -184,10 +338,10 @@ public class Parser {
 
         switch (format) {
             case DEG_DEG:
-                coordinate = Double.parseDouble(next() + '.' + next());
+                coordinate = nextDecimalValue();
                 break;
             case DEG_DEG_HEM:
-                coordinate = Double.parseDouble(next() + '.' + next());
+                coordinate = nextDecimalValue();
                 hemisphere = next();
                 break;
             case DEG_HEM:
@@ -196,11 +350,11 @@ public class Parser {
                 break;
             case DEG_MIN_MIN:
                 coordinate = nextInt(0);
-                coordinate += Double.parseDouble(next() + '.' + next()) / 60;
+                coordinate += nextDecimalValue() / 60;
                 break;
             case DEG_MIN_MIN_HEM:
                 coordinate = nextInt(0);
-                coordinate += Double.parseDouble(next() + '.' + next()) / 60;
+                coordinate += nextDecimalValue() / 60;
                 hemisphere = next();
                 break;
             case HEM_DEG:
@@ -223,7 +377,7 @@ public class Parser {
             case HEM_DEG_MIN_MIN:
                 hemisphere = next();
                 coordinate = nextInt(0);
-                coordinate += Double.parseDouble(next() + '.' + next()) / 60;
+                coordinate += nextDecimalValue() / 60;
                 break;
             case DEG_MIN_HEM:
             default:
@@ -362,4 +516,45 @@ public class Parser {
         return nextDateTime(DateTimeFormat.YMD_HMS, null);
     }
 
+    private static final class BufferSequence implements CharSequence {
+
+        private final ByteBuf buf;
+        private final int offset;
+        private final int length;
+
+        BufferSequence(ByteBuf buf, int offset, int length) {
+            this.buf = buf;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            byte b = buf.getByte(offset + index);
+            return b >= 0 ? (char) b : '\uFFFD'; // same as US-ASCII decoding
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException();
+            }
+            return new BufferSequence(buf, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return buf.toString(offset, length, StandardCharsets.US_ASCII);
+        }
+
+    }
+
 }
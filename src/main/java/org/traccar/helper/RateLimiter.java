@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+/**
+ * Simple fixed window rate limiter. Limit of zero or less disables limiting.
+ */
+public class RateLimiter {
+
+    private final int limit;
+    private final long window;
+
+    private long windowStart;
+    private int count;
+
+    public RateLimiter(int limit, long window) {
+        this.limit = limit;
+        this.window = window;
+    }
+
+    public synchronized boolean tryAcquire(long currentTime) {
+        if (limit <= 0) {
+            return true;
+        }
+        if (currentTime - windowStart >= window) {
+            windowStart = currentTime;
+            count = 0;
+        }
+        if (count < limit) {
+            count += 1;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.currentTimeMillis());
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Route simplification for map display. Points are {@code [longitude, latitude]} pairs and tolerance is in meters.
+ * Points closer than tolerance to the previous kept point are dropped first, then Douglas-Peucker is applied to the
+ * remaining points.
+ */
+public final class RouteSimplifier {
+
+    private static final double METERS_PER_DEGREE = 111320;
+
+    private RouteSimplifier() {
+    }
+
+    public static List<double[]> simplify(List<double[]> points, double tolerance) {
+        if (tolerance <= 0 || points.size() <= 2) {
+            return points;
+        }
+        return douglasPeucker(filterRadial(points, tolerance), tolerance);
+    }
+
+    private static double squaredDistance(double[] a, double[] b, double[] c) {
+        double scale = Math.cos(Math.toRadians(a[1])) * METERS_PER_DEGREE;
+        double px = (a[0] - b[0]) * scale;
+        double py = (a[1] - b[1]) * METERS_PER_DEGREE;
+        if (c == null) {
+            return px * px + py * py;
+        }
+        double dx = (c[0] - b[0]) * scale;
+        double dy = (c[1] - b[1]) * METERS_PER_DEGREE;
+        double length = dx * dx + dy * dy;
+        if (length > 0) {
+            double t = Math.max(0, Math.min(1, (px * dx + py * dy) / length));
+            px -= t * dx;
+            py -= t * dy;
+        }
+        return px * px + py * py;
+    }
+
+    private static List<double[]> filterRadial(List<double[]> points, double tolerance) {
+        double limit = tolerance * tolerance;
+        List<double[]> result = new ArrayList<>();
+        double[] last = points.get(0);
+        result.add(last);
+        for (int i = 1; i < points.size() - 1; i++) {
+            double[] point = points.get(i);
+            if (squaredDistance(point, last, null) > limit) {
+                result.add(point);
+                last = point;
+            }
+        }
+        result.add(points.get(points.size() - 1));
+        return result;
+    }
+
+    private static List<double[]> douglasPeucker(List<double[]> points, double tolerance) {
+        double limit = tolerance * tolerance;
+        boolean[] keep = new boolean[points.size()];
+        keep[0] = true;
+        keep[points.size() - 1] = true;
+
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[] {0, points.size() - 1});
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            double maxDistance = 0;
+            int index = 0;
+            for (int i = range[0] + 1; i < range[1]; i++) {
+                double distance = squaredDistance(points.get(i), points.get(range[0]), points.get(range[1]));
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    index = i;
+                }
+            }
+            if (maxDistance > limit) {
+                keep[index] = true;
+                ranges.push(new int[] {range[0], index});
+                ranges.push(new int[] {index, range[1]});
+            }
+        }
+
+        List<double[]> result = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            if (keep[i]) {
+                result.add(points.get(i));
+            }
+        }
+        return result;
+    }
+
+}
@@ -30,6 +30,9 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class AttributeUtil {
 
     private AttributeUtil() {
@@ -43,11 +46,22 @@ public final class AttributeUtil {
     }
 
     public static <T> T lookup(CacheManager cacheManager, ConfigKey<T> key, long deviceId) {
-        return lookup(new CacheProvider(cacheManager, deviceId), key);
+        ResolvedAttributes attributes = cacheManager.getDeviceAttributes(deviceId);
+        if (attributes != null) {
+            return attributes.get(key);
+        }
+        return resolve(new CacheProvider(cacheManager, deviceId), key);
     }
 
-    @SuppressWarnings({ "deprecation", "unchecked" })
     public static <T> T lookup(Provider provider, ConfigKey<T> key) {
+        if (provider instanceof CacheProvider cacheProvider) {
+            return lookup(cacheProvider.cacheManager, key, cacheProvider.deviceId);
+        }
+        return resolve(provider, key);
+    }
+
+    @SuppressWarnings({ "deprecation", "unchecked" })
+    private static <T> T resolve(Provider provider, ConfigKey<T> key) {
         Device device = provider.getDevice();
         Object result = device.getAttributes().get(key.getKey());
         long groupId = device.getGroupId();
@@ -110,6 +124,33 @@ public final class AttributeUtil {
         return defaultPassword;
     }
 
+    /**
+     * Effective attribute values of a single device. Each key is resolved and converted once, so the instance has to
+     * be dropped when the device, any group or the server changes.
+     */
+    public static final class ResolvedAttributes {
+
+        private static final Object NULL = new Object();
+
+        private final Provider provider;
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+        public ResolvedAttributes(Provider provider) {
+            this.provider = provider;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(ConfigKey<T> key) {
+            Object value = values.get(key.getKey());
+            if (value == null) {
+                value = resolve(provider, key);
+                values.put(key.getKey(), value != null ? value : NULL);
+            }
+            return value != NULL ? (T) value : null;
+        }
+
+    }
+
     public static class CacheProvider implements Provider {
 
         private final CacheManager cacheManager;
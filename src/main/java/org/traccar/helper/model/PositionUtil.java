@@ -29,11 +29,22 @@ import org.traccar.storage.query.Request;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class PositionUtil {
 
+    /**
+     * Columns needed for trip, stop and summary calculations. Address, network and unrelated attributes are not read.
+     */
+    public static final Columns ANALYTICS_COLUMNS = new Columns.IncludeAttributes(
+            Set.of(
+                    Position.KEY_MOTION, Position.KEY_IGNITION, Position.KEY_ODOMETER, Position.KEY_TOTAL_DISTANCE,
+                    Position.KEY_HOURS, Position.KEY_FUEL_LEVEL, Position.KEY_FUEL_USED,
+                    Position.KEY_DRIVER_UNIQUE_ID),
+            "id", "deviceId", "fixTime", "latitude", "longitude", "speed");
+
     private PositionUtil() {
     }
 
@@ -62,14 +73,51 @@ public final class PositionUtil {
         }
     }
 
+    public static List<Position> getAnalyticsPositions(
+            Storage storage, long deviceId, Date from, Date to) throws StorageException {
+        try (var positions = getPositionsStream(storage, deviceId, from, to, ANALYTICS_COLUMNS, 0)) {
+            return positions.toList();
+        }
+    }
+
     public static Stream<Position> getPositionsStream(
             Storage storage, long deviceId, Date from, Date to) throws StorageException {
+        return getPositionsStream(storage, deviceId, from, to, new Columns.All(), 0);
+    }
+
+    public static Stream<Position> getPositionsStream(
+            Storage storage, long deviceId, Date from, Date to, Columns columns, int limit) throws StorageException {
         return storage.getObjectsStream(Position.class, new Request(
-                new Columns.All(),
+                columns,
                 new Condition.And(
                         new Condition.Equals("deviceId", deviceId),
                         new Condition.Between("fixTime", from, to)),
-                new Order("fixTime")));
+                new Order("fixTime", false, limit)));
+    }
+
+    /**
+     * Get a page of positions ordered by fix time and id. When the last id of the previous page is provided, the
+     * page starts after the position with that id and the fix time passed as {@code from}.
+     */
+    public static Stream<Position> getPositionsPage(
+            Storage storage, long deviceId, Date from, Date to, long after, Columns columns, int limit)
+            throws StorageException {
+        Condition time;
+        if (after > 0) {
+            time = new Condition.And(
+                    new Condition.Or(
+                            new Condition.Compare("fixTime", ">", from),
+                            new Condition.And(
+                                    new Condition.Equals("fixTime", from),
+                                    new Condition.Compare("id", ">", after))),
+                    new Condition.Compare("fixTime", "<=", to));
+        } else {
+            time = new Condition.Between("fixTime", from, to);
+        }
+        return storage.getObjectsStream(Position.class, new Request(
+                columns,
+                new Condition.And(new Condition.Equals("deviceId", deviceId), time),
+                new Order(List.of("fixTime", "id"), false, limit)));
     }
 
     public static Position getEdgePosition(
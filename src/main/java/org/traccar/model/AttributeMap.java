@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact insertion ordered attribute map. Keys are replaced with shared instances from a global registry and
+ * boolean and numeric values are kept unboxed in a primitive array. Other values are stored as objects. Lookups are
+ * linear, which is faster than hashing for the small number of attributes a typical position has.
+ */
+public class AttributeMap extends AbstractMap<String, Object> {
+
+    private static final int MAX_KEYS = 16384;
+    private static final Map<String, String> KEYS = new ConcurrentHashMap<>();
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final long[] EMPTY_VALUES = new long[0];
+    private static final byte[] EMPTY_TYPES = new byte[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private long[] values = EMPTY_VALUES;
+    private byte[] types = EMPTY_TYPES;
+    private Object[] objects;
+    private int size;
+    private int modifications;
+
+    public AttributeMap() {
+    }
+
+    public AttributeMap(Map<String, ?> map) {
+        putAll(map);
+    }
+
+    /**
+     * Shared instance of the key. Registry is bounded, so arbitrary user provided keys can not exhaust memory.
+     */
+    static String intern(String key) {
+        String result = KEYS.get(key);
+        if (result == null) {
+            if (KEYS.size() < MAX_KEYS) {
+                result = KEYS.putIfAbsent(key, key);
+                return result != null ? result : key;
+            }
+            return key;
+        }
+        return result;
+    }
+
+    private int indexOf(Object key) {
+        if (key instanceof String) {
+            int hash = key.hashCode();
+            for (int i = 0; i < size; i++) {
+                String current = keys[i];
+                if (current == key || current.hashCode() == hash && current.equals(key)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Object valueAt(int index) {
+        long value = values[index];
+        return switch (types[index]) {
+            case TYPE_BOOLEAN -> value != 0;
+            case TYPE_INTEGER -> (int) value;
+            case TYPE_LONG -> value;
+            case TYPE_DOUBLE -> Double.longBitsToDouble(value);
+            default -> objects[index];
+        };
+    }
+
+    private void setAt(int index, Object value) {
+        if (value instanceof Boolean booleanValue) {
+            types[index] = TYPE_BOOLEAN;
+            values[index] = booleanValue ? 1 : 0;
+        } else if (value instanceof Integer integerValue) {
+            types[index] = TYPE_INTEGER;
+            values[index] = integerValue;
+        } else if (value instanceof Long longValue) {
+            types[index] = TYPE_LONG;
+            values[index] = longValue;
+        } else if (value instanceof Double doubleValue) {
+            types[index] = TYPE_DOUBLE;
+            values[index] = Double.doubleToRawLongBits(doubleValue);
+        } else {
+            types[index] = TYPE_OBJECT;
+            values[index] = 0;
+            if (objects == null) {
+                objects = new Object[keys.length];
+            }
+            objects[index] = value;
+            return;
+        }
+        if (objects != null) {
+            objects[index] = null;
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(8, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        types = Arrays.copyOf(types, capacity);
+        if (objects != null) {
+            objects = Arrays.copyOf(objects, capacity);
+        }
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(types, index + 1, types, index, moved);
+            if (objects != null) {
+                System.arraycopy(objects, index + 1, objects, index, moved);
+            }
+        }
+        size -= 1;
+        keys[size] = null;
+        if (objects != null) {
+            objects[size] = null;
+        }
+        modifications += 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key, "Attribute key must not be null");
+        int index = indexOf(key);
+        if (index >= 0) {
+            Object previous = valueAt(index);
+            setAt(index, value);
+            return previous;
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        keys[size] = intern(key);
+        setAt(size, value);
+        size += 1;
+        modifications += 1;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            Object previous = valueAt(index);
+            removeAt(index);
+            return previous;
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        if (objects != null) {
+            Arrays.fill(objects, 0, size, null);
+        }
+        size = 0;
+        modifications += 1;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                AttributeMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModifications = modifications;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new AttributeEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModifications = modifications;
+        }
+
+    }
+
+    private final class AttributeEntry implements Entry<String, Object> {
+
+        private final int index;
+
+        private AttributeEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[index];
+        }
+
+        @Override
+        public Object getValue() {
+            return valueAt(index);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = valueAt(index);
+            setAt(index, value);
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+    }
+
+}
@@ -17,6 +17,7 @@ package org.traccar.model;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.traccar.storage.QueryIgnore;
@@ -157,12 +158,23 @@ public class Position extends Message {
     public static final String ALARM_REMOVING = "removing";
 
     public Position() {
+        super.setAttributes(new AttributeMap());
     }
 
     public Position(String protocol) {
+        this();
         this.protocol = protocol;
     }
 
+    @Override
+    public void setAttributes(Map<String, Object> attributes) {
+        if (attributes instanceof AttributeMap) {
+            super.setAttributes(attributes);
+        } else {
+            super.setAttributes(attributes != null ? new AttributeMap(attributes) : new AttributeMap());
+        }
+    }
+
     private String protocol;
 
     public String getProtocol() {
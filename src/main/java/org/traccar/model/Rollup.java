@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.model;
+
+import org.traccar.storage.StorageName;
+
+import java.util.Date;
+
+/**
+ * Hourly summary of device positions. Period time is the start of the hour in UTC.
+ */
+@StorageName("tc_rollups")
+public class Rollup extends BaseModel {
+
+    private long deviceId;
+
+    public long getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    private Date periodTime;
+
+    public Date getPeriodTime() {
+        return periodTime;
+    }
+
+    public void setPeriodTime(Date periodTime) {
+        this.periodTime = periodTime;
+    }
+
+    private long startPositionId;
+
+    public long getStartPositionId() {
+        return startPositionId;
+    }
+
+    public void setStartPositionId(long startPositionId) {
+        this.startPositionId = startPositionId;
+    }
+
+    private Date startTime;
+
+    public Date getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Date startTime) {
+        this.startTime = startTime;
+    }
+
+    private long endPositionId;
+
+    public long getEndPositionId() {
+        return endPositionId;
+    }
+
+    public void setEndPositionId(long endPositionId) {
+        this.endPositionId = endPositionId;
+    }
+
+    private Date endTime;
+
+    public Date getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Date endTime) {
+        this.endTime = endTime;
+    }
+
+    private double maxSpeed;
+
+    public double getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public void setMaxSpeed(double maxSpeed) {
+        this.maxSpeed = maxSpeed;
+    }
+
+}
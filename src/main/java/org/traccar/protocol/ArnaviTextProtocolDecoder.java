@@ -26,7 +26,6 @@ import org.traccar.helper.PatternBuilder;
 import org.traccar.model.Position;
 
 import java.net.SocketAddress;
-import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 
 public class ArnaviTextProtocolDecoder extends BaseProtocolDecoder {
@@ -68,7 +67,7 @@ public class ArnaviTextProtocolDecoder extends BaseProtocolDecoder {
             Channel channel, SocketAddress remoteAddress, Object msg) throws Exception {
 
         ByteBuf buf = (ByteBuf) msg;
-        Parser parser = new Parser(PATTERN, buf.toString(StandardCharsets.US_ASCII));
+        Parser parser = new Parser(PATTERN, buf);
         if (!parser.matches()) {
             return null;
         }
@@ -130,7 +130,7 @@ public class MeitrackProtocolDecoder extends BaseProtocolDecoder {
 
     private Position decodeRegular(Channel channel, SocketAddress remoteAddress, ByteBuf buf) {
 
-        Parser parser = new Parser(PATTERN, buf.toString(StandardCharsets.US_ASCII));
+        Parser parser = new Parser(PATTERN, buf);
         if (!parser.matches()) {
             return null;
         }
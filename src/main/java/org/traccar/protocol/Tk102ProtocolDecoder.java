@@ -115,7 +115,7 @@ public class Tk102ProtocolDecoder extends BaseProtocolDecoder {
                 return null;
             }
 
-            Parser parser = new Parser(PATTERN, buf.readSlice(length).toString(StandardCharsets.US_ASCII));
+            Parser parser = new Parser(PATTERN, buf.readSlice(length));
             if (!parser.matches()) {
                 return null;
             }
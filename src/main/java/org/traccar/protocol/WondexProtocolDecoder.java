@@ -87,7 +87,7 @@ public class WondexProtocolDecoder extends BaseProtocolDecoder {
 
         } else {
 
-            Parser parser = new Parser(PATTERN, buf.toString(StandardCharsets.US_ASCII));
+            Parser parser = new Parser(PATTERN, buf);
             if (!parser.matches()) {
                 return null;
             }
@@ -15,10 +15,11 @@
  */
 package org.traccar.reports;
 
+import org.traccar.helper.RouteSimplifier;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
+import org.traccar.model.Position;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.CombinedReportItem;
 import org.traccar.storage.Storage;
@@ -31,7 +32,9 @@ import org.traccar.storage.query.Request;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -39,6 +42,8 @@ public class CombinedReportProvider {
 
     private static final Set<String> EXCLUDE_TYPES = Set.of(Event.TYPE_DEVICE_MOVING);
 
+    private static final int POSITIONS_BATCH_SIZE = 500;
+
     private final ReportUtils reportUtils;
     private final Storage storage;
 
@@ -48,19 +53,41 @@ public class CombinedReportProvider {
         this.storage = storage;
     }
 
+    private List<double[]> getRoute(long deviceId, Date from, Date to) throws StorageException {
+        try (var positions = storage.getObjectsStream(Position.class, new Request(
+                new Columns.Include("latitude", "longitude"),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Between("fixTime", from, to)),
+                new Order("fixTime")))) {
+            return positions
+                    .map(p -> new double[] {p.getLongitude(), p.getLatitude()})
+                    .toList();
+        }
+    }
+
+    private List<Position> getPositions(Collection<Long> positionIds) throws StorageException {
+        var ids = new ArrayList<>(positionIds);
+        var positions = new ArrayList<Position>();
+        for (int i = 0; i < ids.size(); i += POSITIONS_BATCH_SIZE) {
+            positions.addAll(storage.getObjects(Position.class, new Request(
+                    new Columns.All(),
+                    new Condition.In("id", ids.subList(i, Math.min(i + POSITIONS_BATCH_SIZE, ids.size()))))));
+        }
+        positions.sort(Comparator.comparing(Position::getFixTime));
+        return positions;
+    }
+
     public Collection<CombinedReportItem> getObjects(
             long userId, Collection<Long> deviceIds, Collection<Long> groupIds,
-            Date from, Date to) throws StorageException {
+            Date from, Date to, double tolerance) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
         ArrayList<CombinedReportItem> result = new ArrayList<>();
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
             CombinedReportItem item = new CombinedReportItem();
             item.setDeviceId(device.getId());
-            var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
-            item.setRoute(positions.stream()
-                    .map(p -> new double[] {p.getLongitude(), p.getLatitude()})
-                    .toList());
+            item.setRoute(RouteSimplifier.simplify(getRoute(device.getId(), from, to), tolerance));
             var events = storage.getObjects(Event.class, new Request(
                     new Columns.All(),
                     new Condition.And(
@@ -72,9 +99,10 @@ public class CombinedReportProvider {
                     .toList());
             var eventPositions = events.stream()
                     .map(Event::getPositionId)
+                    .filter(id -> id > 0)
                     .collect(Collectors.toSet());
-            item.setPositions(positions.stream()
-                    .filter(p -> eventPositions.contains(p.getId()))
+            item.setPositions(getPositions(eventPositions).stream()
+                    .filter(p -> !p.getFixTime().before(from) && !p.getFixTime().after(to))
                     .toList());
             result.add(item);
         }
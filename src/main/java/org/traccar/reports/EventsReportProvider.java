@@ -20,12 +20,14 @@ import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.Geofence;
 import org.traccar.model.Group;
 import org.traccar.model.Maintenance;
 import org.traccar.model.Position;
+import org.traccar.model.User;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.storage.Storage;
@@ -46,8 +48,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class EventsReportProvider {
 
@@ -62,45 +67,71 @@ public class EventsReportProvider {
         this.storage = storage;
     }
 
-    private List<Event> getEvents(long deviceId, Date from, Date to) throws StorageException {
-        return storage.getObjects(Event.class, new Request(
-                new Columns.All(),
-                new Condition.And(
-                        new Condition.Equals("deviceId", deviceId),
-                        new Condition.Between("eventTime", from, to)),
-                new Order("eventTime")));
+    private Condition getTypeCondition(Collection<String> types) {
+        if (types.isEmpty() || types.contains(Event.ALL_EVENTS)) {
+            return null;
+        }
+        Condition result = null;
+        for (String type : types) {
+            Condition condition = new Condition.Equals("type", type);
+            result = result != null ? new Condition.Or(result, condition) : condition;
+        }
+        return result;
     }
 
-    private boolean filterType(Collection<String> types, Collection<String> alarms, Event event) {
-        if (!types.contains(event.getType())) {
-            return false;
+    private Stream<Event> getEvents(
+            long deviceId, Date from, Date to, Condition typeCondition) throws StorageException {
+        var conditions = new LinkedList<Condition>();
+        conditions.add(new Condition.Equals("deviceId", deviceId));
+        conditions.add(new Condition.Between("eventTime", from, to));
+        if (typeCondition != null) {
+            conditions.add(typeCondition);
         }
+        return storage.getObjectsStream(Event.class, new Request(
+                new Columns.All(), Condition.merge(conditions), new Order("eventTime")));
+    }
+
+    private boolean filterAlarm(Collection<String> alarms, Event event) {
         return !event.getType().equals(Event.TYPE_ALARM) || alarms.isEmpty()
                 || alarms.contains(event.getString(Position.KEY_ALARM));
     }
 
-    public Collection<Event> getObjects(
+    private <T extends BaseModel> Map<Long, String> getNames(
+            long userId, Class<T> clazz, Function<T, String> nameGetter) throws StorageException {
+        var names = new HashMap<Long, String>();
+        try (var objects = storage.getObjectsStream(clazz, new Request(
+                new Columns.Include("id", "name"), new Condition.Permission(User.class, userId, clazz)))) {
+            objects.forEach(object -> names.put(object.getId(), nameGetter.apply(object)));
+        }
+        return names;
+    }
+
+    private boolean filterReferences(Map<Long, String> geofenceNames, Map<Long, String> maintenanceNames, Event event) {
+        long geofenceId = event.getGeofenceId();
+        long maintenanceId = event.getMaintenanceId();
+        return (geofenceId == 0 || geofenceNames.containsKey(geofenceId))
+                && (maintenanceId == 0 || maintenanceNames.containsKey(maintenanceId));
+    }
+
+    public Stream<Event> getObjects(
             long userId, Collection<Long> deviceIds, Collection<Long> groupIds,
             Collection<String> types, Collection<String> alarms, Date from, Date to) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<Event> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<Event> events = getEvents(device.getId(), from, to);
-            boolean all = types.isEmpty() || types.contains(Event.ALL_EVENTS);
-            for (Event event : events) {
-                if (all || filterType(types, alarms, event)) {
-                    long geofenceId = event.getGeofenceId();
-                    long maintenanceId = event.getMaintenanceId();
-                    if ((geofenceId == 0 || reportUtils.getObject(userId, Geofence.class, geofenceId) != null)
-                            && (maintenanceId == 0
-                            || reportUtils.getObject(userId, Maintenance.class, maintenanceId) != null)) {
-                       result.add(event);
+        Condition typeCondition = getTypeCondition(types);
+        Map<Long, String> geofenceNames = getNames(userId, Geofence.class, Geofence::getName);
+        Map<Long, String> maintenanceNames = getNames(userId, Maintenance.class, Maintenance::getName);
+
+        return DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds).stream()
+                .flatMap(device -> {
+                    try {
+                        return getEvents(device.getId(), from, to, typeCondition);
+                    } catch (StorageException e) {
+                        throw new RuntimeException(e);
                     }
-                }
-            }
-        }
-        return result;
+                })
+                .filter(event -> typeCondition == null || filterAlarm(alarms, event))
+                .filter(event -> filterReferences(geofenceNames, maintenanceNames, event));
     }
 
     public void getExcel(
@@ -111,35 +142,17 @@ public class EventsReportProvider {
 
         ArrayList<DeviceReportSection> devicesEvents = new ArrayList<>();
         ArrayList<String> sheetNames = new ArrayList<>();
-        HashMap<Long, String> geofenceNames = new HashMap<>();
-        HashMap<Long, String> maintenanceNames = new HashMap<>();
+        Map<Long, String> geofenceNames = getNames(userId, Geofence.class, Geofence::getName);
+        Map<Long, String> maintenanceNames = getNames(userId, Maintenance.class, Maintenance::getName);
         HashMap<Long, Position> positions = new HashMap<>();
+        Condition typeCondition = getTypeCondition(types);
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<Event> events = getEvents(device.getId(), from, to);
-            boolean all = types.isEmpty() || types.contains(Event.ALL_EVENTS);
-            for (Iterator<Event> iterator = events.iterator(); iterator.hasNext();) {
-                Event event = iterator.next();
-                if (all || filterType(types, alarms, event)) {
-                    long geofenceId = event.getGeofenceId();
-                    long maintenanceId = event.getMaintenanceId();
-                    if (geofenceId != 0) {
-                        Geofence geofence = reportUtils.getObject(userId, Geofence.class, geofenceId);
-                        if (geofence != null) {
-                            geofenceNames.put(geofenceId, geofence.getName());
-                        } else {
-                            iterator.remove();
-                        }
-                    } else if (maintenanceId != 0) {
-                        Maintenance maintenance = reportUtils.getObject(userId, Maintenance.class, maintenanceId);
-                        if (maintenance != null) {
-                            maintenanceNames.put(maintenanceId, maintenance.getName());
-                        } else {
-                            iterator.remove();
-                        }
-                    }
-                } else {
-                    iterator.remove();
-                }
+            List<Event> events;
+            try (var stream = getEvents(device.getId(), from, to, typeCondition)) {
+                events = stream
+                        .filter(event -> typeCondition == null || filterAlarm(alarms, event))
+                        .filter(event -> filterReferences(geofenceNames, maintenanceNames, event))
+                        .toList();
             }
             for (Event event : events) {
                 long positionId = event.getPositionId();
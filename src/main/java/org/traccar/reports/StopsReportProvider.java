@@ -23,6 +23,7 @@ import org.traccar.helper.model.DeviceUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.TripsHistory;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.StopReportItem;
 import org.traccar.storage.Storage;
@@ -46,12 +47,14 @@ public class StopsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final TripsHistory tripsHistory;
     private final Storage storage;
 
     @Inject
-    public StopsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public StopsReportProvider(Config config, ReportUtils reportUtils, TripsHistory tripsHistory, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.tripsHistory = tripsHistory;
         this.storage = storage;
     }
 
@@ -62,7 +65,7 @@ public class StopsReportProvider {
 
         ArrayList<StopReportItem> result = new ArrayList<>();
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class));
+            result.addAll(tripsHistory.getTripsAndStops(device, from, to, StopReportItem.class));
         }
         return result;
     }
@@ -75,7 +78,7 @@ public class StopsReportProvider {
         ArrayList<DeviceReportSection> devicesStops = new ArrayList<>();
         ArrayList<String> sheetNames = new ArrayList<>();
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<StopReportItem> stops = reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class);
+            Collection<StopReportItem> stops = tripsHistory.getTripsAndStops(device, from, to, StopReportItem.class);
             DeviceReportSection deviceStops = new DeviceReportSection();
             deviceStops.setDeviceName(device.getName());
             sheetNames.add(WorkbookUtil.createSafeSheetName(deviceStops.getDeviceName()));
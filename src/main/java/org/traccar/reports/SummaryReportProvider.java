@@ -20,6 +20,7 @@ import org.jxls.util.JxlsHelper;
 import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.RollupManager;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.helper.model.DeviceUtil;
@@ -27,11 +28,14 @@ import org.traccar.helper.model.PositionUtil;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
+import org.traccar.model.Rollup;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.common.TripsConfig;
 import org.traccar.reports.model.SummaryReportItem;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import java.io.File;
@@ -46,7 +50,11 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SummaryReportProvider {
 
@@ -54,40 +62,150 @@ public class SummaryReportProvider {
     private final ReportUtils reportUtils;
     private final PermissionsService permissionsService;
     private final Storage storage;
+    private final RollupManager rollupManager;
 
     @Inject
     public SummaryReportProvider(
-            Config config, ReportUtils reportUtils, PermissionsService permissionsService, Storage storage) {
+            Config config, ReportUtils reportUtils, PermissionsService permissionsService, Storage storage,
+            RollupManager rollupManager) {
         this.config = config;
         this.reportUtils = reportUtils;
         this.permissionsService = permissionsService;
         this.storage = storage;
+        this.rollupManager = rollupManager;
+    }
+
+    private static final class Edges {
+
+        private Position first;
+        private Position last;
+        private double maxSpeed;
+
+        private void add(Position start, Position end, double speed) {
+            if (first == null || start.getFixTime().before(first.getFixTime())) {
+                first = start;
+            }
+            if (last == null || !end.getFixTime().before(last.getFixTime())) {
+                last = end;
+            }
+            maxSpeed = Math.max(maxSpeed, speed);
+        }
+
+    }
+
+    private static final class DeviceRollups {
+
+        private final long coverageStart;
+        private List<Rollup> rollups = List.of();
+        private final Map<Long, Position> positions = new HashMap<>();
+
+        private DeviceRollups(long coverageStart) {
+            this.coverageStart = coverageStart;
+        }
+
+        private Date[] getCovered(Date from, Date to) {
+            long start = Math.max(RollupManager.ceilPeriod(from.getTime()), coverageStart);
+            long end = Math.min(
+                    RollupManager.floorPeriod(to.getTime()),
+                    RollupManager.floorPeriod(System.currentTimeMillis()));
+            return start < end ? new Date[] {new Date(start), new Date(end)} : null;
+        }
+
+        private List<Rollup> getRollups(Date[] covered) {
+            return rollups.stream()
+                    .filter(rollup -> !rollup.getPeriodTime().before(covered[0]))
+                    .filter(rollup -> rollup.getPeriodTime().before(covered[1]))
+                    .toList();
+        }
+
+        private boolean collect(Edges edges, Date[] covered) {
+            var selected = getRollups(covered);
+            if (!selected.isEmpty()) {
+                Position first = positions.get(selected.get(0).getStartPositionId());
+                Position last = positions.get(selected.get(selected.size() - 1).getEndPositionId());
+                if (first == null || last == null) {
+                    return false;
+                }
+                edges.add(first, last, selected.stream().mapToDouble(Rollup::getMaxSpeed).max().orElse(0));
+            }
+            return true;
+        }
+
+    }
+
+    private void collectPositions(
+            Edges edges, Device device, Date from, Date to, boolean fast) throws StorageException {
+        if (fast) {
+            Position first = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
+            Position last = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
+            if (first != null && last != null) {
+                edges.add(first, last, 0);
+            }
+        } else {
+            for (Position position : PositionUtil.getAnalyticsPositions(storage, device.getId(), from, to)) {
+                edges.add(position, position, position.getSpeed());
+            }
+        }
+    }
+
+    private DeviceRollups loadRollups(Device device, Date from, Date to, List<Date[]> periods) throws StorageException {
+        Date coverageStart = rollupManager.getCoverageStart(device.getId());
+        if (coverageStart == null) {
+            return null;
+        }
+        DeviceRollups deviceRollups = new DeviceRollups(coverageStart.getTime());
+        Date[] covered = deviceRollups.getCovered(from, to);
+        if (covered == null) {
+            return null;
+        }
+        deviceRollups.rollups = rollupManager.getRollups(device.getId(), covered[0], covered[1]);
+
+        Set<Long> positionIds = new HashSet<>();
+        for (Date[] period : periods) {
+            Date[] periodCovered = deviceRollups.getCovered(period[0], period[1]);
+            if (periodCovered != null) {
+                var selected = deviceRollups.getRollups(periodCovered);
+                if (!selected.isEmpty()) {
+                    positionIds.add(selected.get(0).getStartPositionId());
+                    positionIds.add(selected.get(selected.size() - 1).getEndPositionId());
+                }
+            }
+        }
+        if (!positionIds.isEmpty()) {
+            for (Position position : storage.getObjects(Position.class, new Request(
+                    PositionUtil.ANALYTICS_COLUMNS, new Condition.In("id", positionIds)))) {
+                deviceRollups.positions.put(position.getId(), position);
+            }
+        }
+        return deviceRollups;
     }
 
     private Collection<SummaryReportItem> calculateDeviceResult(
-            Device device, Date from, Date to, boolean fast) throws StorageException {
+            Device device, Date from, Date to, boolean fast, DeviceRollups rollups) throws StorageException {
 
         SummaryReportItem result = new SummaryReportItem();
         result.setDeviceId(device.getId());
         result.setDeviceName(device.getName());
 
-        Position first = null;
-        Position last = null;
-        if (fast) {
-            first = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
-            last = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
-        } else {
-            var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
-            for (Position position : positions) {
-                if (first == null) {
-                    first = position;
-                }
-                if (position.getSpeed() > result.getMaxSpeed()) {
-                    result.setMaxSpeed(position.getSpeed());
-                }
-                last = position;
+        Edges edges = new Edges();
+        Date[] covered = rollups != null ? rollups.getCovered(from, to) : null;
+        if (covered != null) {
+            if (from.before(covered[0])) {
+                collectPositions(edges, device, from, covered[0], fast);
+            }
+            if (!rollups.collect(edges, covered)) {
+                collectPositions(edges, device, covered[0], covered[1], fast);
             }
+            if (covered[1].before(to)) {
+                collectPositions(edges, device, covered[1], to, fast);
+            }
+        } else {
+            collectPositions(edges, device, from, to, fast);
         }
+        result.setMaxSpeed(edges.maxSpeed);
+
+        Position first = edges.first;
+        Position last = edges.last;
 
         if (first != null && last != null) {
             TripsConfig tripsConfig = new TripsConfig(
@@ -126,17 +244,26 @@ public class SummaryReportProvider {
             Device device, ZonedDateTime from, ZonedDateTime to, boolean daily) throws StorageException {
 
         boolean fast = Duration.between(from, to).toSeconds() > config.getLong(Keys.REPORT_FAST_THRESHOLD);
-        var results = new ArrayList<SummaryReportItem>();
+        var periods = new ArrayList<Date[]>();
         if (daily) {
             while (from.truncatedTo(ChronoUnit.DAYS).isBefore(to.truncatedTo(ChronoUnit.DAYS))) {
                 ZonedDateTime fromDay = from.truncatedTo(ChronoUnit.DAYS);
                 ZonedDateTime nextDay = fromDay.plusDays(1);
-                results.addAll(calculateDeviceResult(
-                        device, Date.from(from.toInstant()), Date.from(nextDay.toInstant()), fast));
+                periods.add(new Date[] {Date.from(from.toInstant()), Date.from(nextDay.toInstant())});
                 from = nextDay;
             }
         }
-        results.addAll(calculateDeviceResult(device, Date.from(from.toInstant()), Date.from(to.toInstant()), fast));
+        periods.add(new Date[] {Date.from(from.toInstant()), Date.from(to.toInstant())});
+
+        DeviceRollups rollups = null;
+        if (rollupManager.isEnabled()) {
+            rollups = loadRollups(device, periods.get(0)[0], periods.get(periods.size() - 1)[1], periods);
+        }
+
+        var results = new ArrayList<SummaryReportItem>();
+        for (Date[] period : periods) {
+            results.addAll(calculateDeviceResult(device, period[0], period[1], fast, rollups));
+        }
         return results;
     }
 
@@ -23,6 +23,7 @@ import org.traccar.helper.model.DeviceUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.TripsHistory;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.TripReportItem;
 import org.traccar.storage.Storage;
@@ -46,12 +47,14 @@ public class TripsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final TripsHistory tripsHistory;
     private final Storage storage;
 
     @Inject
-    public TripsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public TripsReportProvider(Config config, ReportUtils reportUtils, TripsHistory tripsHistory, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.tripsHistory = tripsHistory;
         this.storage = storage;
     }
 
@@ -62,7 +65,7 @@ public class TripsReportProvider {
 
         ArrayList<TripReportItem> result = new ArrayList<>();
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class));
+            result.addAll(tripsHistory.getTripsAndStops(device, from, to, TripReportItem.class));
         }
         return result;
     }
@@ -75,7 +78,7 @@ public class TripsReportProvider {
         ArrayList<DeviceReportSection> devicesTrips = new ArrayList<>();
         ArrayList<String> sheetNames = new ArrayList<>();
         for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<TripReportItem> trips = reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class);
+            Collection<TripReportItem> trips = tripsHistory.getTripsAndStops(device, from, to, TripReportItem.class);
             DeviceReportSection deviceTrips = new DeviceReportSection();
             deviceTrips.setDeviceName(device.getName());
             sheetNames.add(WorkbookUtil.createSafeSheetName(deviceTrips.getDeviceName()));
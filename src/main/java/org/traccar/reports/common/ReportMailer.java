@@ -21,6 +21,7 @@ import org.traccar.api.security.PermissionsService;
 import org.traccar.mail.MailManager;
 import org.traccar.model.User;
 import org.traccar.notification.TextTemplateFormatter;
+import org.traccar.storage.ReplicaContext;
 import org.traccar.storage.StorageException;
 
 import jakarta.activation.DataHandler;
@@ -52,7 +53,12 @@ public class ReportMailer {
         new Thread(() -> {
             try {
                 var stream = new ByteArrayOutputStream();
-                executor.execute(stream);
+                ReplicaContext.enter();
+                try {
+                    executor.execute(stream);
+                } finally {
+                    ReplicaContext.exit();
+                }
 
                 MimeBodyPart attachment = new MimeBodyPart();
                 attachment.setFileName("report.xlsx");
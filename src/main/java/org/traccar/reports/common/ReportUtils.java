@@ -61,9 +61,11 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class ReportUtils {
 
@@ -259,7 +261,7 @@ public class ReportUtils {
     }
 
     @SuppressWarnings("unchecked")
-    private <T extends BaseReportItem> T calculateTripOrStop(
+    public <T extends BaseReportItem> T calculateTripOrStop(
             Device device, Position startPosition, Position endPosition, double maxSpeed,
             boolean ignoreOdometer, Class<T> reportClass) throws StorageException {
 
@@ -309,7 +311,7 @@ public class ReportUtils {
         Map<Long, Position> positionMap = new HashMap<>();
         Position startPosition = null;
         double maxSpeed = 0;
-        var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
+        var positions = PositionUtil.getAnalyticsPositions(storage, device.getId(), from, to);
         if (!positions.isEmpty()) {
             MotionState motionState = new MotionState();
             boolean initialValue = positions.get(0).getBoolean(Position.KEY_MOTION);
@@ -335,6 +337,7 @@ public class ReportUtils {
             }
         }
 
+        List<Segment> segments = new ArrayList<>();
         for (Event event : events) {
             boolean motion = event.getType().equals(Event.TYPE_DEVICE_MOVING);
             if (motion == trips) {
@@ -342,23 +345,51 @@ public class ReportUtils {
             } else if (startPosition != null) {
                 Position endPosition = positionMap.get(event.getPositionId());
                 if (endPosition != null) {
-                    result.add(calculateTripOrStop(
-                            device, startPosition, endPosition,
-                            event.getDouble("maxSpeed"), ignoreOdometer, reportClass));
+                    segments.add(new Segment(startPosition, endPosition, event.getDouble("maxSpeed")));
                 }
                 startPosition = null;
             }
         }
 
         if (startPosition != null) {
-            Position endPosition = positions.get(positions.size() - 1);
+            segments.add(new Segment(startPosition, positions.get(positions.size() - 1), maxSpeed));
+        }
+
+        Map<Long, Position> fullPositions = loadFullPositions(segments);
+        for (Segment segment : segments) {
             result.add(calculateTripOrStop(
-                    device, startPosition, endPosition, maxSpeed, ignoreOdometer, reportClass));
+                    device,
+                    fullPositions.getOrDefault(segment.start().getId(), segment.start()),
+                    fullPositions.getOrDefault(segment.end().getId(), segment.end()),
+                    segment.maxSpeed(), ignoreOdometer, reportClass));
         }
 
         return result;
     }
 
+    private record Segment(Position start, Position end, double maxSpeed) {
+    }
+
+    /**
+     * Positions for detection are read with analytics columns only, so segment edges are reloaded in full to get the
+     * address and remaining attributes.
+     */
+    private Map<Long, Position> loadFullPositions(List<Segment> segments) throws StorageException {
+        Set<Long> positionIds = new HashSet<>();
+        for (Segment segment : segments) {
+            positionIds.add(segment.start().getId());
+            positionIds.add(segment.end().getId());
+        }
+        Map<Long, Position> result = new HashMap<>();
+        if (!positionIds.isEmpty()) {
+            for (Position position : storage.getObjects(Position.class, new Request(
+                    new Columns.All(), new Condition.In("id", positionIds)))) {
+                result.put(position.getId(), position);
+            }
+        }
+        return result;
+    }
+
     public <T extends BaseReportItem> List<T> fastTripsAndStops(
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
 
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.api.security.PermissionsService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.AttributeUtil;
+import org.traccar.helper.model.PositionUtil;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Position;
+import org.traccar.model.Stop;
+import org.traccar.model.Trip;
+import org.traccar.reports.model.BaseReportItem;
+import org.traccar.reports.model.StopReportItem;
+import org.traccar.reports.model.TripReportItem;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Trips and stops stored at ingest time. Each motion event closes the period started by the previous opposite motion
+ * event, so the record is calculated once and reports only need to calculate the period that is still open.
+ * Records are unique per device and start time, so live events and backfill never store the same period twice.
+ */
+public class TripsHistory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TripsHistory.class);
+
+    private final Config config;
+    private final Storage storage;
+    private final PermissionsService permissionsService;
+    private final ReportUtils reportUtils;
+    private final ExecutorService executorService;
+    private final boolean enabled;
+
+    @Inject
+    public TripsHistory(
+            Config config, Storage storage, PermissionsService permissionsService, ReportUtils reportUtils,
+            ExecutorService executorService) {
+        this.config = config;
+        this.storage = storage;
+        this.permissionsService = permissionsService;
+        this.reportUtils = reportUtils;
+        this.executorService = executorService;
+        enabled = config.getBoolean(Keys.REPORT_TRIPS_STORE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void onMotionEvent(Device device, Event event) {
+        if (enabled) {
+            executorService.execute(() -> {
+                try {
+                    storeEvent(device, event);
+                } catch (StorageException e) {
+                    LOGGER.warn("Trip or stop storing error", e);
+                }
+            });
+        }
+    }
+
+    private void storeEvent(Device device, Event event) throws StorageException {
+        Event previous = storage.getObject(Event.class, new Request(
+                new Columns.All(),
+                Condition.merge(List.of(
+                        new Condition.Equals("deviceId", device.getId()),
+                        new Condition.Compare("eventTime", "<", event.getEventTime()),
+                        new Condition.Or(
+                                new Condition.Equals("type", Event.TYPE_DEVICE_MOVING),
+                                new Condition.Equals("type", Event.TYPE_DEVICE_STOPPED)))),
+                new Order("eventTime", true, 1)));
+        if (previous == null || previous.getType().equals(event.getType())) {
+            return;
+        }
+
+        Position startPosition = getPosition(previous.getPositionId());
+        Position endPosition = getPosition(event.getPositionId());
+        if (startPosition == null || endPosition == null) {
+            return;
+        }
+
+        boolean ignoreOdometer = getIgnoreOdometer(device);
+        if (event.getType().equals(Event.TYPE_DEVICE_STOPPED)) {
+            storeTrip(reportUtils.calculateTripOrStop(
+                    device, startPosition, endPosition, getMaxSpeed(startPosition, endPosition),
+                    ignoreOdometer, TripReportItem.class));
+        } else {
+            storeStop(reportUtils.calculateTripOrStop(
+                    device, startPosition, endPosition, 0, ignoreOdometer, StopReportItem.class));
+        }
+    }
+
+    private Position getPosition(long positionId) throws StorageException {
+        if (positionId == 0) {
+            return null;
+        }
+        return storage.getObject(Position.class, new Request(
+                new Columns.All(), new Condition.Equals("id", positionId)));
+    }
+
+    private boolean getIgnoreOdometer(Device device) {
+        return new TripsConfig(
+                new AttributeUtil.StorageProvider(config, storage, permissionsService, device)).getIgnoreOdometer();
+    }
+
+    private double getMaxSpeed(Position startPosition, Position endPosition) throws StorageException {
+        double maxSpeed = 0;
+        for (Position position : storage.getObjects(Position.class, new Request(
+                new Columns.Include("speed"),
+                new Condition.And(
+                        new Condition.Equals("deviceId", startPosition.getDeviceId()),
+                        new Condition.Between("fixTime", startPosition.getFixTime(), endPosition.getFixTime()))))) {
+            maxSpeed = Math.max(maxSpeed, position.getSpeed());
+        }
+        return maxSpeed;
+    }
+
+    private boolean isStored(Class<? extends BaseModel> clazz, long deviceId, Date startTime)
+            throws StorageException {
+        return storage.getObject(clazz, new Request(
+                new Columns.Include("id"),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Equals("startTime", startTime)))) != null;
+    }
+
+    private void storeTrip(TripReportItem item) throws StorageException {
+        if (isStored(Trip.class, item.getDeviceId(), item.getStartTime())) {
+            return;
+        }
+        Trip trip = new Trip();
+        trip.setDeviceId(item.getDeviceId());
+        trip.setStartPositionId(item.getStartPositionId());
+        trip.setEndPositionId(item.getEndPositionId());
+        trip.setStartTime(item.getStartTime());
+        trip.setEndTime(item.getEndTime());
+        trip.setStartLat(item.getStartLat());
+        trip.setStartLon(item.getStartLon());
+        trip.setEndLat(item.getEndLat());
+        trip.setEndLon(item.getEndLon());
+        trip.setStartAddress(item.getStartAddress());
+        trip.setEndAddress(item.getEndAddress());
+        trip.setDistance(item.getDistance());
+        trip.setDuration(item.getDuration());
+        trip.setAverageSpeed(item.getAverageSpeed());
+        trip.setMaxSpeed(item.getMaxSpeed());
+        trip.setSpentFuel(item.getSpentFuel());
+        trip.setStartOdometer(item.getStartOdometer());
+        trip.setEndOdometer(item.getEndOdometer());
+        trip.setDriverUniqueId(item.getDriverUniqueId());
+        storage.addObject(trip, new Request(new Columns.Exclude("id")));
+    }
+
+    private void storeStop(StopReportItem item) throws StorageException {
+        if (isStored(Stop.class, item.getDeviceId(), item.getStartTime())) {
+            return;
+        }
+        Stop stop = new Stop();
+        stop.setDeviceId(item.getDeviceId());
+        stop.setPositionId(item.getPositionId());
+        stop.setStartTime(item.getStartTime());
+        stop.setEndTime(item.getEndTime());
+        stop.setLatitude(item.getLatitude());
+        stop.setLongitude(item.getLongitude());
+        stop.setAddress(item.getAddress());
+        stop.setDuration(item.getDuration());
+        stop.setSpentFuel(item.getSpentFuel());
+        stop.setEngineHours(item.getEngineHours());
+        stop.setStartOdometer(item.getStartOdometer());
+        stop.setEndOdometer(item.getEndOdometer());
+        storage.addObject(stop, new Request(new Columns.Exclude("id")));
+    }
+
+    private TripReportItem toItem(Device device, Trip trip, Map<String, String> driverNames) throws StorageException {
+        TripReportItem item = new TripReportItem();
+        item.setDeviceId(trip.getDeviceId());
+        item.setDeviceName(device.getName());
+        item.setStartPositionId(trip.getStartPositionId());
+        item.setEndPositionId(trip.getEndPositionId());
+        item.setStartTime(trip.getStartTime());
+        item.setEndTime(trip.getEndTime());
+        item.setStartLat(trip.getStartLat());
+        item.setStartLon(trip.getStartLon());
+        item.setEndLat(trip.getEndLat());
+        item.setEndLon(trip.getEndLon());
+        item.setStartAddress(trip.getStartAddress());
+        item.setEndAddress(trip.getEndAddress());
+        item.setDistance(trip.getDistance());
+        item.setDuration(trip.getDuration());
+        item.setAverageSpeed(trip.getAverageSpeed());
+        item.setMaxSpeed(trip.getMaxSpeed());
+        item.setSpentFuel(trip.getSpentFuel());
+        item.setStartOdometer(trip.getStartOdometer());
+        item.setEndOdometer(trip.getEndOdometer());
+        item.setDriverUniqueId(trip.getDriverUniqueId());
+        if (trip.getDriverUniqueId() != null) {
+            if (!driverNames.containsKey(trip.getDriverUniqueId())) {
+                driverNames.put(trip.getDriverUniqueId(), reportUtils.findDriverName(trip.getDriverUniqueId()));
+            }
+            item.setDriverName(driverNames.get(trip.getDriverUniqueId()));
+        }
+        return item;
+    }
+
+    private StopReportItem toItem(Device device, Stop stop) {
+        StopReportItem item = new StopReportItem();
+        item.setDeviceId(stop.getDeviceId());
+        item.setDeviceName(device.getName());
+        item.setPositionId(stop.getPositionId());
+        item.setStartTime(stop.getStartTime());
+        item.setEndTime(stop.getEndTime());
+        item.setLatitude(stop.getLatitude());
+        item.setLongitude(stop.getLongitude());
+        item.setAddress(stop.getAddress());
+        item.setDuration(stop.getDuration());
+        item.setSpentFuel(stop.getSpentFuel());
+        item.setEngineHours(stop.getEngineHours());
+        item.setStartOdometer(stop.getStartOdometer());
+        item.setEndOdometer(stop.getEndOdometer());
+        return item;
+    }
+
+    private <T extends BaseModel> T getEdgeRecord(Class<T> clazz, long deviceId, boolean last) throws StorageException {
+        return storage.getObject(clazz, new Request(
+                new Columns.All(), new Condition.Equals("deviceId", deviceId), new Order("startTime", last, 1)));
+    }
+
+    private Date getStoredStart(long deviceId) throws StorageException {
+        Trip trip = getEdgeRecord(Trip.class, deviceId, false);
+        Stop stop = getEdgeRecord(Stop.class, deviceId, false);
+        if (trip == null || stop == null) {
+            return trip != null ? trip.getStartTime() : stop != null ? stop.getStartTime() : null;
+        }
+        return trip.getStartTime().before(stop.getStartTime()) ? trip.getStartTime() : stop.getStartTime();
+    }
+
+    /**
+     * Get trips or stops for the period. Stored records within the period are returned as is. Parts of the period
+     * not covered by stored records are calculated from positions. That includes the parts before the first and after
+     * the last record, which covers records crossing the period boundaries, and holes between records left by a
+     * storing error, an outage or history from before the records were stored.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends BaseReportItem> List<T> getTripsAndStops(
+            Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
+
+        if (!enabled) {
+            return reportUtils.detectTripsAndStops(device, from, to, reportClass);
+        }
+
+        Condition condition = Condition.merge(List.of(
+                new Condition.Equals("deviceId", device.getId()),
+                new Condition.Compare("startTime", ">=", from),
+                new Condition.Compare("endTime", "<=", to)));
+        List<Trip> trips = storage.getObjects(Trip.class, new Request(
+                new Columns.All(), condition, new Order("startTime")));
+        List<Stop> stops = storage.getObjects(Stop.class, new Request(
+                new Columns.All(), condition, new Order("startTime")));
+        if (trips.isEmpty() && stops.isEmpty()) {
+            return reportUtils.detectTripsAndStops(device, from, to, reportClass);
+        }
+
+        boolean tripReport = reportClass.equals(TripReportItem.class);
+        Map<String, String> driverNames = new HashMap<>();
+        List<T> result = new ArrayList<>();
+        Date covered = from;
+        int tripIndex = 0;
+        int stopIndex = 0;
+        while (tripIndex < trips.size() || stopIndex < stops.size()) {
+            boolean nextTrip = stopIndex >= stops.size() || tripIndex < trips.size()
+                    && !trips.get(tripIndex).getStartTime().after(stops.get(stopIndex).getStartTime());
+            Date startTime;
+            Date endTime;
+            T item = null;
+            if (nextTrip) {
+                Trip trip = trips.get(tripIndex++);
+                startTime = trip.getStartTime();
+                endTime = trip.getEndTime();
+                if (tripReport) {
+                    item = (T) toItem(device, trip, driverNames);
+                }
+            } else {
+                Stop stop = stops.get(stopIndex++);
+                startTime = stop.getStartTime();
+                endTime = stop.getEndTime();
+                if (!tripReport) {
+                    item = (T) toItem(device, stop);
+                }
+            }
+            if (startTime.after(covered)) {
+                result.addAll(reportUtils.detectTripsAndStops(device, covered, startTime, reportClass));
+            }
+            if (item != null) {
+                result.add(item);
+            }
+            if (endTime.after(covered)) {
+                covered = endTime;
+            }
+        }
+        if (covered.before(to)) {
+            result.addAll(reportUtils.detectTripsAndStops(device, covered, to, reportClass));
+        }
+        return result;
+    }
+
+    /**
+     * Remove stored trips and stops overlapping the range, so reports calculate it again from remaining positions.
+     */
+    public void remove(long deviceId, Date from, Date to) throws StorageException {
+        if (!enabled) {
+            return;
+        }
+        Condition condition = Condition.merge(List.of(
+                new Condition.Equals("deviceId", deviceId),
+                new Condition.Compare("startTime", "<=", to),
+                new Condition.Compare("endTime", ">=", from)));
+        storage.removeObject(Trip.class, new Request(condition));
+        storage.removeObject(Stop.class, new Request(condition));
+    }
+
+    /**
+     * Calculate and store trips and stops from motion events before the earliest stored record. Without any stored
+     * records the last period is still open, so it is skipped. The first period is skipped as well, because it
+     * would be cut at the start of the range.
+     */
+    public void backfill(Device device, Date from) throws StorageException {
+        Date to = getStoredStart(device.getId());
+        boolean open = to == null;
+        if (open) {
+            to = new Date();
+        }
+        if (!from.before(to)) {
+            return;
+        }
+        Position first = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
+        if (first == null) {
+            return;
+        }
+
+        List<TripReportItem> trips = reportUtils.fastTripsAndStops(device, from, to, TripReportItem.class);
+        List<StopReportItem> stops = reportUtils.fastTripsAndStops(device, from, to, StopReportItem.class);
+        if (open && !(trips.isEmpty() && stops.isEmpty())) {
+            if (trips.isEmpty()) {
+                stops.remove(stops.size() - 1);
+            } else if (stops.isEmpty() || isLater(trips.get(trips.size() - 1), stops.get(stops.size() - 1))) {
+                trips.remove(trips.size() - 1);
+            } else {
+                stops.remove(stops.size() - 1);
+            }
+        }
+
+        for (TripReportItem trip : trips) {
+            if (!trip.getStartTime().equals(first.getFixTime())) {
+                Position startPosition = getPosition(trip.getStartPositionId());
+                Position endPosition = getPosition(trip.getEndPositionId());
+                if (startPosition != null && endPosition != null) {
+                    trip.setMaxSpeed(getMaxSpeed(startPosition, endPosition));
+                }
+                storeTrip(trip);
+            }
+        }
+        for (StopReportItem stop : stops) {
+            if (!stop.getStartTime().equals(first.getFixTime())) {
+                storeStop(stop);
+            }
+        }
+    }
+
+    private static boolean isLater(BaseReportItem first, BaseReportItem second) {
+        int result = first.getEndTime().compareTo(second.getEndTime());
+        return result != 0 ? result > 0 : first.getStartTime().after(second.getStartTime());
+    }
+
+}
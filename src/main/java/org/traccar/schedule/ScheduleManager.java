@@ -44,13 +44,22 @@ public class ScheduleManager implements LifecycleObject {
     public void start() {
         executor = Executors.newSingleThreadScheduledExecutor();
         Stream.of(
+                TaskCacheWarmUp.class,
                 TaskHealthCheck.class,
                 TaskClearStatus.class,
                 TaskExpirations.class,
                 TaskDeleteTemporary.class,
                 TaskReports.class,
                 TaskDeviceInactivityCheck.class,
-                TaskWebSocketKeepalive.class)
+                TaskWebSocketKeepalive.class,
+                TaskBroadcastInterest.class,
+                TaskQueuedCommands.class,
+                TaskStatistics.class,
+                TaskPositionPartitions.class,
+                TaskTripsBackfill.class,
+                TaskRollups.class,
+                TaskRollupBackfill.class,
+                TaskDeviceState.class)
                 .forEachOrdered(taskClass -> {
                     var task = injector.getInstance(taskClass);
                     if (task.multipleInstances() || !secondary) {
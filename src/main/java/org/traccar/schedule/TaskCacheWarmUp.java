@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
+import org.traccar.model.Device;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TaskCacheWarmUp implements ScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskCacheWarmUp.class);
+
+    private static final long EXPIRATION_MINUTES = 10;
+
+    private final CacheManager cacheManager;
+    private final Storage storage;
+    private final ExecutorService executorService;
+
+    private final int days;
+    private final int pageSize;
+
+    private final AtomicLong loaded = new AtomicLong();
+    private volatile boolean complete;
+
+    private ScheduledExecutorService executor;
+
+    @Inject
+    public TaskCacheWarmUp(
+            Config config, CacheManager cacheManager, Storage storage, ExecutorService executorService,
+            MetricsManager metricsManager) {
+        this.cacheManager = cacheManager;
+        this.storage = storage;
+        this.executorService = executorService;
+        days = config.getInteger(Keys.DATABASE_CACHE_WARM_UP);
+        pageSize = config.getInteger(Keys.DATABASE_CACHE_WARM_UP_PAGE);
+        metricsManager.gauge("traccar_cache_warmup_devices", loaded::get);
+        metricsManager.gauge("traccar_cache_warmup_complete", () -> complete ? 1 : 0);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (days > 0) {
+            this.executor = executor;
+            executorService.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        long startTime = System.currentTimeMillis();
+        Date since = new Date(startTime - TimeUnit.DAYS.toMillis(days));
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Device> devices = storage.getObjects(Device.class, new Request(
+                        new Columns.All(),
+                        Condition.merge(List.of(
+                                new Condition.Compare("id", ">", lastId),
+                                new Condition.Compare("lastUpdate", ">=", since))),
+                        new Order("id", false, pageSize)));
+                if (devices.isEmpty()) {
+                    break;
+                }
+                lastId = devices.get(devices.size() - 1).getId();
+                var enabled = devices.stream().filter(device -> !device.getDisabled()).toList();
+                cacheManager.warmUp(enabled);
+                loaded.addAndGet(enabled.size());
+                LOGGER.debug("Cache warm-up loaded {} devices", loaded.get());
+            }
+            LOGGER.info("Cache warm-up loaded {} devices in {} ms",
+                    loaded.get(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            LOGGER.warn("Cache warm-up error", e);
+        } finally {
+            cacheManager.finishWarmUp();
+            complete = true;
+            executor.schedule(cacheManager::expireWarmUp, EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.traccar.database.DeviceStateManager;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskDeviceState implements ScheduleTask {
+
+    private final DeviceStateManager deviceStateManager;
+
+    @Inject
+    public TaskDeviceState(DeviceStateManager deviceStateManager) {
+        this.deviceStateManager = deviceStateManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        long delay = deviceStateManager.getDelay();
+        if (delay > 0) {
+            executor.scheduleAtFixedRate(this, delay, delay, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void run() {
+        deviceStateManager.flush();
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import com.google.inject.Provider;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+import org.traccar.model.Rollup;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskPositionPartitions extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskPositionPartitions.class);
+
+    private static final long PERIOD_HOURS = 24;
+    private static final int MONTHS_AHEAD = 2;
+    private static final int DELETE_BATCH = 10000;
+    private static final long DELETE_PAUSE = 100;
+
+    private static final String TABLE = "tc_positions";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String PARTITION_DEFAULT = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final Storage storage;
+    private final Provider<DataSource> dataSourceProvider;
+    private final boolean partitions;
+    private final int retention;
+
+    @Inject
+    public TaskPositionPartitions(Config config, Storage storage, Provider<DataSource> dataSourceProvider) {
+        this.storage = storage;
+        this.dataSourceProvider = dataSourceProvider;
+        partitions = config.getBoolean(Keys.DATABASE_POSITION_PARTITIONS);
+        retention = config.getInteger(Keys.DATABASE_POSITION_RETENTION);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (partitions || retention > 0) {
+            executor.scheduleAtFixedRate(this, 0, PERIOD_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    private static boolean exists(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            return resultSet.next();
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_FORMAT);
+    }
+
+    private void createPartitions(Connection connection) {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= MONTHS_AHEAD; i++) {
+            YearMonth month = current.plusMonths(i);
+            String query = "CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(query);
+            } catch (SQLException e) {
+                LOGGER.warn("Failed to create position partition {}", partitionName(month), e);
+            }
+        }
+    }
+
+    private void dropPartitions(Connection connection, LocalDateTime cutoff) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT c.relname FROM pg_inherits i"
+                     + " JOIN pg_class c ON c.oid = i.inhrelid"
+                     + " JOIN pg_class p ON p.oid = i.inhparent"
+                     + " WHERE p.relname = '" + TABLE + "'")) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        }
+        LocalDate cutoffDate = cutoff.toLocalDate();
+        for (String name : names) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    YearMonth month = YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_FORMAT);
+                    if (!month.plusMonths(1).atDay(1).isAfter(cutoffDate)) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("DROP TABLE " + name);
+                        }
+                        LOGGER.info("Dropped position partition {}", name);
+                    }
+                } catch (DateTimeParseException ignored) {
+                    // not a monthly partition
+                }
+            }
+        }
+        if (names.contains(PARTITION_DEFAULT)) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + PARTITION_DEFAULT + " WHERE fixtime < ?")) {
+                statement.setTimestamp(1, Timestamp.from(cutoff.toInstant(ZoneOffset.UTC)));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private void dropChunks(Connection connection, LocalDateTime cutoff) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT drop_chunks('" + TABLE + "', older_than => CAST(? AS TIMESTAMP))")) {
+            statement.setTimestamp(1, Timestamp.from(cutoff.toInstant(ZoneOffset.UTC)));
+            statement.execute();
+        }
+    }
+
+    /**
+     * Delete expired positions in bounded id ranges with a pause between them, so a large table is not locked by one
+     * long transaction.
+     */
+    private void deletePositions(Date cutoff) throws StorageException, InterruptedException {
+        while (true) {
+            List<Position> positions = storage.getObjects(Position.class, new Request(
+                    new Columns.Include("id"),
+                    new Condition.Compare("fixTime", "<", cutoff),
+                    new Order("id", false, DELETE_BATCH)));
+            if (positions.isEmpty()) {
+                return;
+            }
+            storage.removeObject(Position.class, new Request(new Condition.And(
+                    new Condition.Between("id", positions.get(0).getId(), positions.get(positions.size() - 1).getId()),
+                    new Condition.Compare("fixTime", "<", cutoff))));
+            if (positions.size() < DELETE_BATCH) {
+                return;
+            }
+            Thread.sleep(DELETE_PAUSE);
+        }
+    }
+
+    @Override
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusDays(retention);
+        try (Connection connection = dataSourceProvider.get().getConnection()) {
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            if (postgres && exists(connection, "SELECT 1 FROM pg_partitioned_table pt"
+                    + " JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = '" + TABLE + "'")) {
+                createPartitions(connection);
+                if (retention > 0) {
+                    dropPartitions(connection, cutoff);
+                }
+            } else if (postgres && exists(connection, "SELECT 1 FROM pg_extension WHERE extname = 'timescaledb'")) {
+                if (retention > 0) {
+                    dropChunks(connection, cutoff);
+                }
+            } else {
+                if (partitions) {
+                    LOGGER.warn("Position partitions are not available for this database");
+                }
+                if (retention > 0) {
+                    deletePositions(Date.from(cutoff.toInstant(ZoneOffset.UTC)));
+                }
+            }
+            if (retention > 0) {
+                storage.removeObject(Rollup.class, new Request(
+                        new Condition.Compare("periodTime", "<", Date.from(cutoff.toInstant(ZoneOffset.UTC)))));
+            }
+        } catch (SQLException | StorageException e) {
+            LOGGER.warn("Position partition maintenance failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
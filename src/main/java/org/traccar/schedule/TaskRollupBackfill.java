@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.RollupManager;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskRollupBackfill extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRollupBackfill.class);
+
+    private static final long DELAY_MINUTES = 1;
+
+    private final Storage storage;
+    private final RollupManager rollupManager;
+    private final int days;
+
+    @Inject
+    public TaskRollupBackfill(Config config, Storage storage, RollupManager rollupManager) {
+        this.storage = storage;
+        this.rollupManager = rollupManager;
+        days = config.getInteger(Keys.REPORT_SUMMARY_BACKFILL);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (rollupManager.isEnabled() && days > 0) {
+            executor.schedule(this, DELAY_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        long from = RollupManager.floorPeriod(now - TimeUnit.DAYS.toMillis(days));
+        try {
+            for (Device device : storage.getObjects(Device.class, new Request(new Columns.Include("id")))) {
+                try {
+                    Date coverageStart = rollupManager.getCoverageStart(device.getId());
+                    long to = coverageStart != null ? coverageStart.getTime() : RollupManager.floorPeriod(now);
+                    if (from < to) {
+                        rollupManager.recalculate(device.getId(), new Date(from), new Date(to - 1));
+                    }
+                } catch (StorageException e) {
+                    LOGGER.warn("Rollup backfill failed for device {}", device.getId(), e);
+                }
+            }
+        } catch (StorageException e) {
+            LOGGER.warn("Rollup backfill failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.traccar.database.RollupManager;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskRollups implements ScheduleTask {
+
+    private static final long PERIOD_MINUTES = 1;
+
+    private final RollupManager rollupManager;
+
+    @Inject
+    public TaskRollups(RollupManager rollupManager) {
+        this.rollupManager = rollupManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (rollupManager.isEnabled()) {
+            executor.scheduleAtFixedRate(this, PERIOD_MINUTES, PERIOD_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void run() {
+        rollupManager.flush();
+    }
+
+}
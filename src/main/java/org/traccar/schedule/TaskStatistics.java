@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.database.StatisticsManager;
+
+import jakarta.inject.Inject;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskStatistics implements ScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private static final long PERIOD_SECONDS = 60;
+
+    private final StatisticsManager statisticsManager;
+
+    @Inject
+    public TaskStatistics(StatisticsManager statisticsManager) {
+        this.statisticsManager = statisticsManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        executor.scheduleAtFixedRate(this, PERIOD_SECONDS, PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            statisticsManager.checkSplit();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Statistics update failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.reports.common.TripsHistory;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskTripsBackfill extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskTripsBackfill.class);
+
+    private static final long DELAY_MINUTES = 1;
+
+    private final Storage storage;
+    private final TripsHistory tripsHistory;
+    private final int days;
+
+    @Inject
+    public TaskTripsBackfill(Config config, Storage storage, TripsHistory tripsHistory) {
+        this.storage = storage;
+        this.tripsHistory = tripsHistory;
+        days = config.getInteger(Keys.REPORT_TRIPS_BACKFILL);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (tripsHistory.isEnabled() && days > 0) {
+            executor.schedule(this, DELAY_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void run() {
+        Date from = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+        try {
+            for (Device device : storage.getObjects(Device.class, new Request(new Columns.All()))) {
+                try {
+                    tripsHistory.backfill(device, from);
+                } catch (StorageException e) {
+                    LOGGER.warn("Trips backfill failed for device {}", device.getId(), e);
+                }
+            }
+        } catch (StorageException e) {
+            LOGGER.warn("Trips backfill failed", e);
+        }
+    }
+
+}
@@ -26,7 +26,9 @@ import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.DeviceLookupService;
+import org.traccar.database.MetricsManager;
 import org.traccar.database.NotificationManager;
+import org.traccar.helper.RateLimiter;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
@@ -76,6 +78,8 @@ public class ConnectionManager implements BroadcastInterface {
     private final Timer timer;
     private final BroadcastService broadcastService;
     private final DeviceLookupService deviceLookupService;
+    private final RateLimiter cacheLoadLimiter;
+    private final MetricsManager.Counter cacheLoadThrottled;
 
     private final Map<Long, Set<UpdateListener>> listeners = new HashMap<>();
     private final Map<Long, Set<Long>> userDevices = new HashMap<>();
@@ -87,7 +91,7 @@ public class ConnectionManager implements BroadcastInterface {
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
             NotificationManager notificationManager, Timer timer, BroadcastService broadcastService,
-            DeviceLookupService deviceLookupService) {
+            DeviceLookupService deviceLookupService, MetricsManager metricsManager) {
         this.config = config;
         this.cacheManager = cacheManager;
         this.storage = storage;
@@ -95,6 +99,8 @@ public class ConnectionManager implements BroadcastInterface {
         this.timer = timer;
         this.broadcastService = broadcastService;
         this.deviceLookupService = deviceLookupService;
+        cacheLoadLimiter = new RateLimiter(config.getInteger(Keys.DATABASE_CACHE_LOAD_LIMIT), 1000);
+        cacheLoadThrottled = metricsManager.counter("traccar_cache_loads_throttled_total");
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         broadcastService.registerListener(this);
@@ -137,6 +143,12 @@ public class ConnectionManager implements BroadcastInterface {
             unknownByEndpoint.remove(connectionKey);
             device.checkDisabled();
 
+            if (cacheManager.getObject(Device.class, device.getId()) == null && !cacheLoadLimiter.tryAcquire()) {
+                cacheLoadThrottled.increment();
+                LOGGER.debug("Device cache load throttled {}", device.getUniqueId());
+                return null;
+            }
+
             DeviceSession oldSession = sessionsByDeviceId.remove(device.getId());
             if (oldSession != null) {
                 Map<String, DeviceSession> oldEndpointSessions = sessionsByEndpoint.get(oldSession.getConnectionKey());
@@ -337,6 +349,7 @@ public class ConnectionManager implements BroadcastInterface {
             if (listeners.containsKey(id1)) {
                 userDevices.get(id1).add(id2);
                 deviceUsers.put(id2, new HashSet<>(List.of(id1)));
+                publishInterest();
             }
         }
     }
@@ -381,6 +394,7 @@ public class ConnectionManager implements BroadcastInterface {
                     new Columns.Include("id"), new Condition.Permission(User.class, userId, Device.class)));
             userDevices.put(userId, devices.stream().map(BaseModel::getId).collect(Collectors.toSet()));
             devices.forEach(device -> deviceUsers.computeIfAbsent(device.getId(), id -> new HashSet<>()).add(userId));
+            publishInterest();
         }
         set.add(listener);
     }
@@ -395,6 +409,13 @@ public class ConnectionManager implements BroadcastInterface {
                 userIds.remove(userId);
                 return userIds.isEmpty() ? null : userIds;
             }));
+            publishInterest();
+        }
+    }
+
+    public synchronized void publishInterest() {
+        if (!broadcastService.singleInstance()) {
+            broadcastService.updateInterest(Set.copyOf(deviceUsers.keySet()), Set.copyOf(listeners.keySet()));
         }
     }
 
@@ -22,6 +22,8 @@ import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
+import org.traccar.database.DeviceStateManager;
+import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Attribute;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Calendar;
@@ -44,7 +46,10 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -58,23 +63,99 @@ public class CacheManager implements BroadcastInterface {
     private static final Set<Class<? extends BaseModel>> GROUPED_CLASSES =
             Set.of(Attribute.class, Driver.class, Geofence.class, Maintenance.class, Notification.class);
 
+    private static final String WARM_UP_KEY = "warmUp";
+
+    private static final List<Class<? extends BaseModel>> PRELOAD_CLASSES = List.of(
+            Group.class, User.class, Calendar.class, Attribute.class, Driver.class, Geofence.class,
+            Maintenance.class, Notification.class);
+
+    /**
+     * Objects and permissions loaded with one query per table for the cache warm-up. Tables linked to devices are
+     * loaded up front without holding the cache lock. It is discarded on any invalidation, so the following page loads
+     * fresh data.
+     */
+    private final class Preload {
+
+        private final Map<Class<?>, Map<Long, BaseModel>> objects = new HashMap<>();
+        private final Map<List<Class<?>>, Map<Long, List<Permission>>> byOwner = new HashMap<>();
+        private final Map<List<Class<?>>, Map<Long, List<Permission>>> byProperty = new HashMap<>();
+
+        private BaseModel getObject(Class<? extends BaseModel> clazz, long id) throws StorageException {
+            var map = objects.get(clazz);
+            if (map == null) {
+                map = new HashMap<>();
+                for (BaseModel object : storage.getObjects(clazz, new Request(new Columns.All()))) {
+                    map.put(object.getId(), object);
+                }
+                objects.put(clazz, map);
+            }
+            return map.get(id);
+        }
+
+        private List<Permission> getPermissions(
+                Class<? extends BaseModel> ownerClass, long ownerId,
+                Class<? extends BaseModel> propertyClass, long propertyId) throws StorageException {
+            List<Class<?>> key = List.of(ownerClass, propertyClass);
+            if (!byOwner.containsKey(key)) {
+                Map<Long, List<Permission>> owners = new HashMap<>();
+                Map<Long, List<Permission>> properties = new HashMap<>();
+                for (Permission permission : storage.getPermissions(ownerClass, propertyClass)) {
+                    owners.computeIfAbsent(permission.getOwnerId(), k -> new ArrayList<>()).add(permission);
+                    properties.computeIfAbsent(permission.getPropertyId(), k -> new ArrayList<>()).add(permission);
+                }
+                byOwner.put(key, owners);
+                byProperty.put(key, properties);
+            }
+            if (ownerId > 0) {
+                return byOwner.get(key).getOrDefault(ownerId, List.of());
+            } else {
+                return byProperty.get(key).getOrDefault(propertyId, List.of());
+            }
+        }
+
+        private void load() throws StorageException {
+            for (Class<? extends BaseModel> clazz : PRELOAD_CLASSES) {
+                getObject(clazz, 0);
+            }
+            getPermissions(User.class, 0, Notification.class, 0);
+            for (Class<? extends BaseModel> ownerClass : List.of(Device.class, Group.class)) {
+                getPermissions(User.class, 0, ownerClass, 0);
+                for (Class<? extends BaseModel> propertyClass : GROUPED_CLASSES) {
+                    getPermissions(ownerClass, 0, propertyClass, 0);
+                }
+            }
+        }
+
+    }
+
     private final Config config;
     private final Storage storage;
     private final BroadcastService broadcastService;
+    private final DeviceStateManager deviceStateManager;
 
     private final CacheGraph graph = new CacheGraph();
 
     private volatile Server server;
     private final Map<Long, Position> devicePositions = new ConcurrentHashMap<>();
     private final Map<Long, HashSet<Object>> deviceReferences = new ConcurrentHashMap<>();
+    private final Map<Long, AttributeUtil.ResolvedAttributes> deviceAttributes = new ConcurrentHashMap<>();
+
+    private final Set<BroadcastInterface> listeners = ConcurrentHashMap.newKeySet();
+
+    private Preload preload;
+    private long preloadVersion;
 
     @Inject
-    public CacheManager(Config config, Storage storage, BroadcastService broadcastService) throws StorageException {
+    public CacheManager(
+            Config config, Storage storage, BroadcastService broadcastService,
+            DeviceStateManager deviceStateManager) throws StorageException {
         this.config = config;
         this.storage = storage;
         this.broadcastService = broadcastService;
+        this.deviceStateManager = deviceStateManager;
         server = storage.getObject(Server.class, new Request(new Columns.All()));
         broadcastService.registerListener(this);
+        config.addReloadListener(deviceAttributes::clear);
     }
 
     @Override
@@ -82,6 +163,14 @@ public class CacheManager implements BroadcastInterface {
         return graph.toString();
     }
 
+    /**
+     * Register listener for object invalidations. Unlike broadcast service listeners, it receives both local and
+     * remote changes.
+     */
+    public void registerListener(BroadcastInterface listener) {
+        listeners.add(listener);
+    }
+
     public Config getConfig() {
         return config;
     }
@@ -103,6 +192,25 @@ public class CacheManager implements BroadcastInterface {
         return server;
     }
 
+    /**
+     * Get resolved attributes for a cached device. Returns null if the device is not in the cache.
+     */
+    public AttributeUtil.ResolvedAttributes getDeviceAttributes(long deviceId) {
+        if (graph.getObject(Device.class, deviceId) == null) {
+            return null;
+        }
+        return deviceAttributes.computeIfAbsent(
+                deviceId, k -> new AttributeUtil.ResolvedAttributes(new AttributeUtil.CacheProvider(this, k)));
+    }
+
+    private void invalidateAttributes(Class<?> clazz, long id) {
+        if (clazz.equals(Device.class)) {
+            deviceAttributes.remove(id);
+        } else if (clazz.equals(Group.class) || clazz.equals(Server.class)) {
+            deviceAttributes.clear();
+        }
+    }
+
     public Set<User> getNotificationUsers(long notificationId, long deviceId) {
         Set<User> deviceUsers = getDeviceObjects(deviceId, User.class);
         return graph.getObjects(Notification.class, notificationId, User.class, Set.of(), false)
@@ -121,7 +229,8 @@ public class CacheManager implements BroadcastInterface {
 
     public synchronized void addDevice(long deviceId, Object key) throws Exception {
         var references = deviceReferences.computeIfAbsent(deviceId, k -> new HashSet<>());
-        if (references.isEmpty()) {
+        references.remove(WARM_UP_KEY);
+        if (references.isEmpty() && graph.getObject(Device.class, deviceId) == null) {
             Device device = storage.getObject(Device.class, new Request(
                     new Columns.All(), new Condition.Equals("id", deviceId)));
             graph.addObject(device);
@@ -135,13 +244,85 @@ public class CacheManager implements BroadcastInterface {
         LOGGER.debug("Cache add device {} references {} key {}", deviceId, references.size(), key);
     }
 
+    /**
+     * Preload a page of devices for the cache warm-up. Storage is queried without holding the cache lock, which is only
+     * taken to add each device, so connecting devices are not blocked by the warm-up. Devices stay cached until the
+     * first connection referencing them is closed or until {@link #expireWarmUp()} is called. Call
+     * {@link #finishWarmUp()} after the last page to release preloaded data.
+     */
+    public void warmUp(List<Device> devices) throws Exception {
+        Preload current;
+        long version;
+        synchronized (this) {
+            current = preload;
+            version = preloadVersion;
+        }
+        if (current == null) {
+            current = new Preload();
+            current.load();
+        }
+
+        var positionIds = devices.stream()
+                .filter(device -> !deviceReferences.containsKey(device.getId()))
+                .map(Device::getPositionId)
+                .filter(positionId -> positionId > 0)
+                .toList();
+        Map<Long, Position> positions = new HashMap<>();
+        if (!positionIds.isEmpty()) {
+            for (Position position : storage.getObjects(Position.class, new Request(
+                    new Columns.All(), new Condition.In("id", positionIds)))) {
+                positions.put(position.getId(), position);
+            }
+        }
+
+        synchronized (this) {
+            if (version == preloadVersion) {
+                preload = current;
+            }
+        }
+        for (Device device : devices) {
+            synchronized (this) {
+                if (deviceReferences.containsKey(device.getId())) {
+                    continue;
+                }
+                graph.addObject(device);
+                initializeCache(device);
+                Position position = positions.get(device.getPositionId());
+                if (position != null) {
+                    devicePositions.put(device.getId(), position);
+                }
+                deviceReferences.computeIfAbsent(device.getId(), k -> new HashSet<>()).add(WARM_UP_KEY);
+            }
+        }
+    }
+
+    public synchronized void finishWarmUp() {
+        preload = null;
+    }
+
+    /**
+     * Release preloaded devices that have not been referenced by any connection since the warm-up.
+     */
+    public void expireWarmUp() {
+        for (long deviceId : deviceReferences.keySet()) {
+            synchronized (this) {
+                var references = deviceReferences.get(deviceId);
+                if (references != null && references.contains(WARM_UP_KEY)) {
+                    removeDevice(deviceId, WARM_UP_KEY);
+                }
+            }
+        }
+    }
+
     public synchronized void removeDevice(long deviceId, Object key) {
         var references = deviceReferences.computeIfAbsent(deviceId, k -> new HashSet<>());
         references.remove(key);
         if (references.isEmpty()) {
+            deviceStateManager.flush(deviceId);
             graph.removeObject(Device.class, deviceId);
             devicePositions.remove(deviceId);
             deviceReferences.remove(deviceId);
+            deviceAttributes.remove(deviceId);
         }
         LOGGER.debug("Cache remove device {} references {} key {}", deviceId, references.size(), key);
     }
@@ -160,9 +341,16 @@ public class CacheManager implements BroadcastInterface {
             broadcastService.invalidateObject(true, clazz, id, operation);
         }
 
+        for (BroadcastInterface listener : listeners) {
+            listener.invalidateObject(local, clazz, id, operation);
+        }
+
         synchronized (this) {
+            preload = null;
+            preloadVersion += 1;
             if (operation == ObjectOperation.DELETE) {
                 graph.removeObject(clazz, id);
+                invalidateAttributes(clazz, id);
             }
             if (operation != ObjectOperation.UPDATE) {
                 return;
@@ -170,9 +358,13 @@ public class CacheManager implements BroadcastInterface {
 
             if (clazz.equals(Server.class)) {
                 server = storage.getObject(Server.class, new Request(new Columns.All()));
+                invalidateAttributes(clazz, id);
                 return;
             }
 
+            if (clazz.equals(Device.class)) {
+                deviceStateManager.flush(id);
+            }
             var after = storage.getObject(clazz, new Request(
                     new Columns.All(), new Condition.Equals("id", id)));
             if (after == null) {
@@ -209,6 +401,7 @@ public class CacheManager implements BroadcastInterface {
             }
 
             graph.updateObject(after);
+            invalidateAttributes(clazz, id);
         }
     }
 
@@ -220,6 +413,8 @@ public class CacheManager implements BroadcastInterface {
         }
 
         synchronized (this) {
+            preload = null;
+            preloadVersion += 1;
             if (clazz1.equals(User.class) && GroupedModel.class.isAssignableFrom(clazz2)) {
                 invalidatePermission(clazz2, id2, clazz1, id1, link);
             } else {
@@ -243,8 +438,10 @@ public class CacheManager implements BroadcastInterface {
         }
 
         if (link) {
-            BaseModel object = storage.getObject(toClass, new Request(
-                    new Columns.All(), new Condition.Equals("id", toId)));
+            BaseModel object = loadObject(toClass, toId);
+            if (object == null) {
+                return;
+            }
             if (!graph.addLink(fromClass, fromId, object)) {
                 initializeCache(object);
             }
@@ -253,14 +450,28 @@ public class CacheManager implements BroadcastInterface {
         }
     }
 
+    private BaseModel loadObject(Class<? extends BaseModel> clazz, long id) throws StorageException {
+        if (preload != null) {
+            return preload.getObject(clazz, id);
+        }
+        return storage.getObject(clazz, new Request(new Columns.All(), new Condition.Equals("id", id)));
+    }
+
+    private List<Permission> loadPermissions(
+            Class<? extends BaseModel> ownerClass, long ownerId,
+            Class<? extends BaseModel> propertyClass, long propertyId) throws StorageException {
+        if (preload != null) {
+            return preload.getPermissions(ownerClass, ownerId, propertyClass, propertyId);
+        }
+        return storage.getPermissions(ownerClass, ownerId, propertyClass, propertyId);
+    }
+
     private void initializeCache(BaseModel object) throws Exception {
         if (object instanceof User) {
-            for (Permission permission : storage.getPermissions(User.class, Notification.class)) {
-                if (permission.getOwnerId() == object.getId()) {
-                    invalidatePermission(
-                            permission.getOwnerClass(), permission.getOwnerId(),
-                            permission.getPropertyClass(), permission.getPropertyId(), true);
-                }
+            for (Permission permission : loadPermissions(User.class, object.getId(), Notification.class, 0)) {
+                invalidatePermission(
+                        permission.getOwnerClass(), permission.getOwnerId(),
+                        permission.getPropertyClass(), permission.getPropertyId(), true);
             }
         } else {
             if (object instanceof GroupedModel groupedModel) {
@@ -269,19 +480,15 @@ public class CacheManager implements BroadcastInterface {
                     invalidatePermission(object.getClass(), object.getId(), Group.class, groupId, true);
                 }
 
-                for (Permission permission : storage.getPermissions(User.class, object.getClass())) {
-                    if (permission.getPropertyId() == object.getId()) {
-                        invalidatePermission(
-                                object.getClass(), object.getId(), User.class, permission.getOwnerId(), true);
-                    }
+                for (Permission permission : loadPermissions(User.class, 0, object.getClass(), object.getId())) {
+                    invalidatePermission(
+                            object.getClass(), object.getId(), User.class, permission.getOwnerId(), true);
                 }
 
                 for (Class<? extends BaseModel> clazz : GROUPED_CLASSES) {
-                    for (Permission permission : storage.getPermissions(object.getClass(), clazz)) {
-                        if (permission.getOwnerId() == object.getId()) {
-                            invalidatePermission(
-                                    object.getClass(), object.getId(), clazz, permission.getPropertyId(), true);
-                        }
+                    for (Permission permission : loadPermissions(object.getClass(), object.getId(), clazz, 0)) {
+                        invalidatePermission(
+                                object.getClass(), object.getId(), clazz, permission.getPropertyId(), true);
                     }
                 }
             }
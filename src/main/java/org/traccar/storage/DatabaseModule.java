@@ -17,6 +17,7 @@ package org.traccar.storage;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
+import com.google.inject.name.Named;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import liquibase.Contexts;
@@ -29,7 +30,9 @@ import liquibase.resource.DirectoryResourceAccessor;
 import liquibase.resource.ResourceAccessor;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Singleton;
 import javax.sql.DataSource;
 import java.io.File;
@@ -42,7 +45,8 @@ public class DatabaseModule extends AbstractModule {
     @Singleton
     @Provides
     public static DataSource provideDataSource(
-            Config config) throws ReflectiveOperationException, IOException, LiquibaseException {
+            Config config, MetricsManager metricsManager)
+            throws ReflectiveOperationException, IOException, LiquibaseException {
 
         String driverFile = config.getString(Keys.DATABASE_DRIVER_FILE);
         if (driverFile != null) {
@@ -77,7 +81,8 @@ public class DatabaseModule extends AbstractModule {
             hikariConfig.setMaximumPoolSize(maxPoolSize);
         }
 
-        DataSource dataSource = new HikariDataSource(hikariConfig);
+        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        registerMetrics(metricsManager, dataSource, "primary");
 
         String changelog = config.getString(Keys.DATABASE_CHANGELOG);
         if (changelog != null && !changelog.isEmpty()) {
@@ -96,7 +101,11 @@ public class DatabaseModule extends AbstractModule {
 
                 try (Liquibase liquibase = new Liquibase(changelog, resourceAccessor, database)) {
                     liquibase.clearCheckSums();
-                    liquibase.update(new Contexts());
+                    if (config.getBoolean(Keys.DATABASE_POSITION_PARTITIONS)) {
+                        liquibase.update(new Contexts("partitioned"));
+                    } else {
+                        liquibase.update(new Contexts("default"));
+                    }
                 }
             } catch (LockException e) {
                 throw new DatabaseLockException();
@@ -106,6 +115,56 @@ public class DatabaseModule extends AbstractModule {
         return dataSource;
     }
 
+    /**
+     * Optional read replica pool. The primary data source is requested first, so the driver is already loaded.
+     */
+    @Singleton
+    @Provides
+    @Named("replica")
+    @Nullable
+    public static DataSource provideReplicaDataSource(
+            Config config, MetricsManager metricsManager, DataSource primaryDataSource) {
+
+        String url = config.getString(Keys.DATABASE_REPLICA_URL);
+        if (url == null) {
+            return null;
+        }
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDriverClassName(config.getString(Keys.DATABASE_DRIVER));
+        hikariConfig.setJdbcUrl(url);
+        if (config.hasKey(Keys.DATABASE_REPLICA_USER)) {
+            hikariConfig.setUsername(config.getString(Keys.DATABASE_REPLICA_USER));
+            hikariConfig.setPassword(config.getString(Keys.DATABASE_REPLICA_PASSWORD));
+        } else {
+            hikariConfig.setUsername(config.getString(Keys.DATABASE_USER));
+            hikariConfig.setPassword(config.getString(Keys.DATABASE_PASSWORD));
+        }
+        hikariConfig.setConnectionInitSql(config.getString(Keys.DATABASE_CHECK_CONNECTION));
+        hikariConfig.setIdleTimeout(600000);
+        hikariConfig.setReadOnly(true);
+
+        int maxPoolSize = config.getInteger(Keys.DATABASE_MAX_POOL_SIZE);
+        if (maxPoolSize != 0) {
+            hikariConfig.setMaximumPoolSize(maxPoolSize);
+        }
+
+        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        registerMetrics(metricsManager, dataSource, "replica");
+        return dataSource;
+    }
+
+    private static void registerMetrics(MetricsManager metricsManager, HikariDataSource dataSource, String pool) {
+        metricsManager.gauge("traccar_database_connections_active",
+                () -> dataSource.getHikariPoolMXBean().getActiveConnections(), "pool", pool);
+        metricsManager.gauge("traccar_database_connections_idle",
+                () -> dataSource.getHikariPoolMXBean().getIdleConnections(), "pool", pool);
+        metricsManager.gauge("traccar_database_connections_pending",
+                () -> dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), "pool", pool);
+        metricsManager.gauge("traccar_database_connections_max",
+                dataSource::getMaximumPoolSize, "pool", pool);
+    }
+
 }
 
 class DatabaseLockException extends RuntimeException {
@@ -16,39 +16,70 @@
 package org.traccar.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.name.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.MetricsManager;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.GroupedModel;
 import org.traccar.model.Permission;
+import org.traccar.model.Position;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DatabaseStorage extends Storage {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseStorage.class);
+
+    private static final long REPLICA_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
     private final Config config;
     private final DataSource dataSource;
+    private final DataSource replicaDataSource;
     private final ObjectMapper objectMapper;
     private final String databaseType;
 
+    private final long replicaMaxLag;
+    private final AtomicLong replicaCheckTime = new AtomicLong();
+    private volatile long replicaLag;
+    private volatile boolean replicaFresh;
+
+    private final MetricsManager.Counter primaryReads;
+    private final MetricsManager.Counter replicaReads;
+
     @Inject
-    public DatabaseStorage(Config config, DataSource dataSource, ObjectMapper objectMapper) {
+    public DatabaseStorage(
+            Config config, DataSource dataSource, @Named("replica") @Nullable DataSource replicaDataSource,
+            ObjectMapper objectMapper, MetricsManager metricsManager) {
         this.config = config;
         this.dataSource = dataSource;
+        this.replicaDataSource = replicaDataSource;
         this.objectMapper = objectMapper;
+        replicaMaxLag = TimeUnit.SECONDS.toMillis(config.getLong(Keys.DATABASE_REPLICA_MAX_LAG));
+        primaryReads = metricsManager.counter("traccar_database_reads_total", "pool", "primary");
+        replicaReads = metricsManager.counter("traccar_database_reads_total", "pool", "replica");
+        if (replicaDataSource != null) {
+            metricsManager.gauge("traccar_database_replica_lag_seconds", () -> replicaLag / 1000.0);
+        }
 
         try (var connection = dataSource.getConnection()) {
             databaseType = connection.getMetaData().getDatabaseProductName();
@@ -66,6 +97,57 @@ public class DatabaseStorage extends Storage {
 
     @Override
     public <T> Stream<T> getObjectsStream(Class<T> clazz, Request request) throws StorageException {
+        return getObjectsStream(getReadDataSource(), clazz, request);
+    }
+
+    /**
+     * Select data source for a read query. Replica is only used within a {@link ReplicaContext} and only while its
+     * estimated lag is within the configured limit.
+     */
+    private DataSource getReadDataSource() {
+        if (replicaDataSource != null && ReplicaContext.isActive()) {
+            long currentTime = System.currentTimeMillis();
+            long checkTime = replicaCheckTime.get();
+            if (currentTime - checkTime >= REPLICA_CHECK_INTERVAL
+                    && replicaCheckTime.compareAndSet(checkTime, currentTime)) {
+                checkReplica();
+            }
+            if (replicaFresh) {
+                replicaReads.increment();
+                return replicaDataSource;
+            }
+        }
+        primaryReads.increment();
+        return dataSource;
+    }
+
+    /**
+     * Estimate replica lag by comparing the latest position on both databases. Positions are the table with
+     * constant writes, so it is used as the replication marker. When the latest position matches, the lag is
+     * considered zero, even though other tables might still be behind.
+     */
+    private void checkReplica() {
+        Request request = new Request(new Columns.Include("id", "serverTime"), new Order("id", true, 1));
+        try (var primaryStream = getObjectsStream(dataSource, Position.class, request);
+             var replicaStream = getObjectsStream(replicaDataSource, Position.class, request)) {
+            Position primary = primaryStream.findFirst().orElse(null);
+            Position replica = replicaStream.findFirst().orElse(null);
+            if (primary == null || replica != null && replica.getId() >= primary.getId()) {
+                replicaLag = 0;
+            } else if (replica == null) {
+                replicaLag = Long.MAX_VALUE;
+            } else {
+                replicaLag = primary.getServerTime().getTime() - replica.getServerTime().getTime();
+            }
+            replicaFresh = replicaLag <= replicaMaxLag;
+        } catch (StorageException e) {
+            replicaFresh = false;
+            LOGGER.warn("Replica check error", e);
+        }
+    }
+
+    private <T> Stream<T> getObjectsStream(
+            DataSource source, Class<T> clazz, Request request) throws StorageException {
         StringBuilder query = new StringBuilder("SELECT ");
         if (request.getColumns() instanceof Columns.All) {
             query.append('*');
@@ -76,11 +158,14 @@ public class DatabaseStorage extends Storage {
         query.append(formatCondition(request.getCondition()));
         query.append(formatOrder(request.getOrder()));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, source, objectMapper, query.toString());
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
             }
+            if (request.getColumns() instanceof Columns.IncludeAttributes columns) {
+                return builder.executeQueryStreamed(clazz, columns.getAttributes());
+            }
             return builder.executeQueryStreamed(clazz);
         } catch (SQLException e) {
             throw new StorageException(e);
@@ -223,6 +308,8 @@ public class DatabaseStorage extends Storage {
         } else if (genericCondition instanceof Condition.Between condition) {
             results.add(condition.getFromValue());
             results.add(condition.getToValue());
+        } else if (genericCondition instanceof Condition.In condition) {
+            results.addAll(condition.getValues());
         } else if (genericCondition instanceof Condition.Binary condition) {
             results.addAll(getConditionVariables(condition.getFirst()));
             results.addAll(getConditionVariables(condition.getSecond()));
@@ -266,6 +353,17 @@ public class DatabaseStorage extends Storage {
                 result.append(condition.getColumn());
                 result.append(" BETWEEN ? AND ?");
 
+            } else if (genericCondition instanceof Condition.In condition) {
+
+                if (condition.getValues().isEmpty()) {
+                    result.append("1 = 0");
+                } else {
+                    result.append(condition.getColumn());
+                    result.append(" IN (");
+                    result.append(condition.getValues().stream().map(v -> "?").collect(Collectors.joining(", ")));
+                    result.append(")");
+                }
+
             } else if (genericCondition instanceof Condition.Binary condition) {
 
                 if (genericCondition instanceof Condition.Or) {
@@ -305,10 +403,7 @@ public class DatabaseStorage extends Storage {
         StringBuilder result = new StringBuilder();
         if (order != null) {
             result.append(" ORDER BY ");
-            result.append(order.getColumn());
-            if (order.getDescending()) {
-                result.append(" DESC");
-            }
+            result.append(formatColumns(order.getColumns(), c -> order.getDescending() ? c + " DESC" : c));
             if (order.getLimit() > 0) {
                 if (databaseType.equals("Microsoft SQL Server")) {
                     result.append(" OFFSET 0 ROWS FETCH FIRST ");
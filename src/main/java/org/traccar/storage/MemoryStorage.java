@@ -21,10 +21,12 @@ import org.traccar.model.Pair;
 import org.traccar.model.Permission;
 import org.traccar.model.Server;
 import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -56,9 +58,31 @@ public class MemoryStorage extends Storage {
 
     @Override
     public <T> Stream<T> getObjectsStream(Class<T> clazz, Request request) {
-        return objects.computeIfAbsent(clazz, key -> new HashMap<>()).values().stream()
-                .filter(object -> checkCondition(request.getCondition(), object))
-                .map(object -> (T) object);
+        var stream = objects.computeIfAbsent(clazz, key -> new HashMap<>()).values().stream()
+                .filter(object -> checkCondition(request.getCondition(), object));
+        Order order = request.getOrder();
+        if (order != null) {
+            Comparator<Object> comparator = (first, second) -> {
+                for (String column : order.getColumns()) {
+                    int result = compareValues(retrieveValue(first, column), retrieveValue(second, column));
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return 0;
+            };
+            stream = stream.sorted(order.getDescending() ? comparator.reversed() : comparator);
+            if (order.getLimit() > 0) {
+                stream = stream.limit(order.getLimit());
+            }
+        }
+        return stream.map(object -> (T) object);
+    }
+
+    private static int compareValues(Object first, Object second) {
+        @SuppressWarnings("unchecked")
+        Comparable<Object> comparable = (Comparable<Object>) first;
+        return comparable.compareTo(second);
     }
 
     private boolean checkCondition(Condition genericCondition, Object object) {
@@ -87,6 +111,10 @@ public class MemoryStorage extends Storage {
             int toResult = ((Comparable) toValue).compareTo(condition.getToValue());
             return fromResult >= 0 && toResult <= 0;
 
+        } else if (genericCondition instanceof Condition.In condition) {
+
+            return condition.getValues().contains(retrieveValue(object, condition.getColumn()));
+
         } else if (genericCondition instanceof Condition.Binary condition) {
 
             if (condition.getOperator().equals("AND")) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import org.traccar.model.BaseModel;
+import org.traccar.model.Permission;
+import org.traccar.storage.query.Request;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Storage view that always reads from the primary database, even within a {@link ReplicaContext}. It is used for
+ * authentication and permission checks, which must not depend on replication lag.
+ */
+public class PrimaryStorage extends Storage {
+
+    private interface Call<T> {
+        T call() throws StorageException;
+    }
+
+    private final Storage storage;
+
+    public PrimaryStorage(Storage storage) {
+        this.storage = storage;
+    }
+
+    private static <T> T primary(Call<T> call) throws StorageException {
+        int depth = ReplicaContext.suspend();
+        try {
+            return call.call();
+        } finally {
+            ReplicaContext.restore(depth);
+        }
+    }
+
+    @Override
+    public <T> List<T> getObjects(Class<T> clazz, Request request) throws StorageException {
+        return primary(() -> storage.getObjects(clazz, request));
+    }
+
+    @Override
+    public <T> Stream<T> getObjectsStream(Class<T> clazz, Request request) throws StorageException {
+        return primary(() -> storage.getObjectsStream(clazz, request));
+    }
+
+    @Override
+    public <T> long addObject(T entity, Request request) throws StorageException {
+        return storage.addObject(entity, request);
+    }
+
+    @Override
+    public <T> void updateObject(T entity, Request request) throws StorageException {
+        storage.updateObject(entity, request);
+    }
+
+    @Override
+    public void removeObject(Class<?> clazz, Request request) throws StorageException {
+        storage.removeObject(clazz, request);
+    }
+
+    @Override
+    public List<Permission> getPermissions(
+            Class<? extends BaseModel> ownerClass, long ownerId,
+            Class<? extends BaseModel> propertyClass, long propertyId) throws StorageException {
+        return primary(() -> storage.getPermissions(ownerClass, ownerId, propertyClass, propertyId));
+    }
+
+    @Override
+    public void addPermission(Permission permission) throws StorageException {
+        storage.addPermission(permission);
+    }
+
+    @Override
+    public void removePermission(Permission permission) throws StorageException {
+        storage.removePermission(permission);
+    }
+
+}
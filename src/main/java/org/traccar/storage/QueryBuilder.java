@@ -15,7 +15,9 @@
  */
 package org.traccar.storage;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,9 +39,12 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Consumer;
@@ -214,9 +219,27 @@ public final class QueryBuilder {
         void process(T object, ResultSet resultSet) throws ReflectiveOperationException, IOException, SQLException;
     }
 
+    private Map<String, Object> readAttributes(String value, Set<String> keys) throws IOException {
+        Map<String, Object> attributes = new HashMap<>();
+        try (JsonParser parser = objectMapper.createParser(value)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.currentName();
+                    parser.nextToken();
+                    if (keys.contains(key)) {
+                        attributes.put(key, objectMapper.readValue(parser, Object.class));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return attributes;
+    }
+
     private <T> void addProcessors(
             List<ResultSetProcessor<T>> processors,
-            final Class<?> parameterType, final Method method, final String name) {
+            final Class<?> parameterType, final Method method, final String name, final Set<String> attributeKeys) {
         if (parameterType.equals(boolean.class)) {
             processors.add((object, resultSet) -> method.invoke(object, resultSet.getBoolean(name)));
         } else if (parameterType.equals(int.class)) {
@@ -236,6 +259,13 @@ public final class QueryBuilder {
             });
         } else if (parameterType.equals(byte[].class)) {
             processors.add((object, resultSet) -> method.invoke(object, (Object) resultSet.getBytes(name)));
+        } else if (attributeKeys != null && name.equals("attributes")) {
+            processors.add((object, resultSet) -> {
+                String value = resultSet.getString(name);
+                if (value != null && !value.isEmpty()) {
+                    method.invoke(object, readAttributes(value, attributeKeys));
+                }
+            });
         } else {
             processors.add((object, resultSet) -> {
                 String value = resultSet.getString(name);
@@ -259,6 +289,14 @@ public final class QueryBuilder {
     }
 
     public <T> Stream<T> executeQueryStreamed(Class<T> clazz) throws SQLException {
+        return executeQueryStreamed(clazz, null);
+    }
+
+    /**
+     * Execute query and stream results. If attribute keys are provided, only those keys are read from the attributes
+     * column.
+     */
+    public <T> Stream<T> executeQueryStreamed(Class<T> clazz, Set<String> attributeKeys) throws SQLException {
         if (query == null) {
             return Stream.empty();
         }
@@ -281,7 +319,7 @@ public final class QueryBuilder {
                 }
                 if (column) {
                     Method method = entry.getValue().method();
-                    addProcessors(processors, method.getParameterTypes()[0], method, name);
+                    addProcessors(processors, method.getParameterTypes()[0], method, name, attributeKeys);
                 }
             }
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+/**
+ * Marks read-only work on the current thread, such as API GET requests and reports. Queries made within the context
+ * can be served by the read replica. Contexts can be nested.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private ReplicaContext() {
+    }
+
+    public static boolean isActive() {
+        return DEPTH.get() > 0;
+    }
+
+    public static void enter() {
+        DEPTH.set(DEPTH.get() + 1);
+    }
+
+    /**
+     * Leave the context on the current thread, for example for queries that must see the latest data. Returns the
+     * depth to pass to {@link #restore(int)}.
+     */
+    public static int suspend() {
+        int depth = DEPTH.get();
+        DEPTH.remove();
+        return depth;
+    }
+
+    public static void restore(int depth) {
+        if (depth > 0) {
+            DEPTH.set(depth);
+        } else {
+            DEPTH.remove();
+        }
+    }
+
+    public static void exit() {
+        int depth = DEPTH.get() - 1;
+        if (depth > 0) {
+            DEPTH.set(depth);
+        } else {
+            DEPTH.remove();
+        }
+    }
+
+}
@@ -18,10 +18,12 @@ package org.traccar.storage.query;
 import org.traccar.helper.ReflectionCache;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class Columns {
 
@@ -54,6 +56,23 @@ public abstract class Columns {
         }
     }
 
+    /**
+     * Selected columns with only the given keys read from the attributes column. Other keys are skipped while parsing,
+     * which makes large scans much cheaper when only a few attributes are needed.
+     */
+    public static class IncludeAttributes extends Include {
+        private final Set<String> attributes;
+
+        public IncludeAttributes(Set<String> attributes, String... columns) {
+            super(Stream.concat(Arrays.stream(columns), Stream.of("attributes")).toArray(String[]::new));
+            this.attributes = attributes;
+        }
+
+        public Set<String> getAttributes() {
+            return attributes;
+        }
+    }
+
     public static class Exclude extends Columns {
         private final Set<String> columns;
 
@@ -69,4 +88,27 @@ public abstract class Columns {
         }
     }
 
+    /**
+     * Columns requested by API client. Names are matched against model properties, so unknown values are dropped
+     * instead of reaching SQL. Identifier is always included.
+     */
+    public static class Projection extends Columns {
+        private final Set<String> columns;
+
+        public Projection(List<String> fields) {
+            this.columns = fields.stream()
+                    .flatMap(field -> Arrays.stream(field.split(",")))
+                    .map(String::trim)
+                    .collect(Collectors.toCollection(HashSet::new));
+            this.columns.add("id");
+        }
+
+        @Override
+        public List<String> getColumns(Class<?> clazz, String type) {
+            return getAllColumns(clazz, type).stream()
+                    .filter(columns::contains)
+                    .collect(Collectors.toList());
+        }
+    }
+
 }
@@ -15,9 +15,11 @@
  */
 package org.traccar.storage.query;
 
+import java.util.List;
+
 public class Order {
 
-    private final String column;
+    private final List<String> columns;
     private final boolean descending;
     private final int limit;
 
@@ -26,13 +28,24 @@ public class Order {
     }
 
     public Order(String column, boolean descending, int limit) {
-        this.column = column;
+        this(List.of(column), descending, limit);
+    }
+
+    /**
+     * Order by several columns in the same direction. Following columns break ties of the previous ones.
+     */
+    public Order(List<String> columns, boolean descending, int limit) {
+        this.columns = columns;
         this.descending = descending;
         this.limit = limit;
     }
 
     public String getColumn() {
-        return column;
+        return columns.get(0);
+    }
+
+    public List<String> getColumns() {
+        return columns;
     }
 
     public boolean getDescending() {
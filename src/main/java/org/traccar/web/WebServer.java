@@ -54,6 +54,7 @@ import org.traccar.api.security.SecurityRequestFilter;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ObjectMapperContextResolver;
+import org.traccar.storage.ReplicaContext;
 
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -174,6 +175,8 @@ public class WebServer implements LifecycleObject {
             servletHolder.setInitParameter("baseResource", Path.of(mediaPath).toUri().toString());
             servletHolder.setInitParameter("dirAllowed", "false");
             servletHolder.setInitParameter("pathInfoOnly", "true");
+            servletHolder.setInitParameter("useFileMappedBuffer", "true");
+            servletHolder.setInitParameter("etags", "true");
             servletHandler.addServlet(servletHolder, "/api/media/*");
         }
 
@@ -192,6 +195,19 @@ public class WebServer implements LifecycleObject {
             LOGGER.warn("Failed to load API resources");
         }
         servletHandler.addServlet(new ServletHolder(new ServletContainer(resourceConfig)), "/api/*");
+
+        servletHandler.addFilter((request, response, chain) -> {
+            if ("GET".equals(((HttpServletRequest) request).getMethod())) {
+                ReplicaContext.enter();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReplicaContext.exit();
+                }
+            } else {
+                chain.doFilter(request, response);
+            }
+        }, "/api/*", EnumSet.of(DispatcherType.REQUEST));
     }
 
     private void initSessionConfig(ServletContextHandler servletHandler) {
@@ -0,0 +1,71 @@
+package org.traccar.broadcast;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BaseBroadcastServiceTest {
+
+    private static final class TestBroadcastService extends BaseBroadcastService {
+
+        private final List<BroadcastMessage> messages = new ArrayList<>();
+        private final List<Collection<String>> nodes = new ArrayList<>();
+
+        private TestBroadcastService(Config config) {
+            super(config);
+        }
+
+        @Override
+        protected void sendMessage(BroadcastMessage message, Collection<String> nodes) {
+            messages.add(message);
+            this.nodes.add(nodes);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+    }
+
+    @Test
+    public void testLargeInterest() throws Exception {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.BROADCAST_INTEREST_ROUTING)).thenReturn(true);
+
+        TestBroadcastService sender = new TestBroadcastService(config);
+        Set<Long> devices = LongStream.rangeClosed(1, 5000).boxed().collect(Collectors.toSet());
+        sender.updateInterest(devices, Set.of(1L));
+        BroadcastMessage.Interest interest = sender.messages.get(0).getInterest();
+        assertTrue(interest.getAll());
+        assertNull(interest.getDevices());
+
+        TestBroadcastService receiver = new TestBroadcastService(config);
+        receiver.handleMessage(sender.messages.get(0));
+        receiver.messages.clear();
+        receiver.nodes.clear();
+
+        Position position = new Position();
+        position.setDeviceId(10000);
+        receiver.updatePosition(true, position);
+        assertEquals(List.of(interest.getNode()), receiver.nodes.get(0));
+    }
+
+}
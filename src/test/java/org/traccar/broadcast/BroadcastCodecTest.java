@@ -0,0 +1,128 @@
+package org.traccar.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.MainModule;
+import org.traccar.model.Event;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BroadcastCodecTest {
+
+    private final ObjectMapper objectMapper = MainModule.provideObjectMapper();
+    private final BroadcastCodec codec = new BroadcastCodec(objectMapper);
+
+    private BroadcastMessage positionMessage() {
+        Position position = new Position("test");
+        position.setId(10);
+        position.setDeviceId(1);
+        position.setServerTime(new Date(1700000001000L));
+        position.setTime(new Date(1700000000000L));
+        position.setValid(true);
+        position.setLatitude(60.1);
+        position.setLongitude(30.2);
+        position.setSpeed(12.5);
+        position.setGeofenceIds(List.of(3L, 4L));
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_ODOMETER, 123456789012L);
+        position.set(Position.KEY_SATELLITES, 7);
+        position.getAttributes().put(Position.KEY_FUEL, 1.1f);
+        position.set(Position.KEY_DRIVER_UNIQUE_ID, "driver");
+        position.getAttributes().put("list", List.of(1, 2));
+        position.getAttributes().put("empty", null);
+        BroadcastMessage message = new BroadcastMessage();
+        message.setPosition(position);
+        return message;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Event event = new Event(Event.TYPE_ALARM, 1);
+        event.setEventTime(new Date(1699999999000L));
+        event.setPositionId(10);
+        event.set(Position.KEY_ALARM, Position.ALARM_SOS);
+        BroadcastMessage eventMessage = new BroadcastMessage();
+        eventMessage.setEvent(event);
+        eventMessage.setUserId(5L);
+
+        BroadcastMessage.InvalidateObject invalidateObject = new BroadcastMessage.InvalidateObject();
+        invalidateObject.setClazz("Device");
+        invalidateObject.setId(1);
+        invalidateObject.setOperation(ObjectOperation.UPDATE);
+        BroadcastMessage invalidateMessage = new BroadcastMessage();
+        invalidateMessage.setInvalidateObject(invalidateObject);
+
+        List<BroadcastMessage> messages = List.of(positionMessage(), eventMessage, invalidateMessage);
+        byte[] data = codec.encode("node", 1700000002000L, messages);
+        assertTrue(BroadcastCodec.isBinary(data));
+
+        BroadcastCodec.Batch batch = codec.decode(data);
+        assertEquals("node", batch.node());
+        assertEquals(1700000002000L, batch.time());
+        assertEquals(messages.size(), batch.messages().size());
+        for (int i = 0; i < messages.size(); i++) {
+            assertEquals(
+                    objectMapper.readTree(objectMapper.writeValueAsBytes(messages.get(i))),
+                    objectMapper.readTree(objectMapper.writeValueAsBytes(batch.messages().get(i))));
+        }
+
+        Map<String, Object> attributes = batch.messages().get(0).getPosition().getAttributes();
+        assertEquals(123456789012L, attributes.get(Position.KEY_ODOMETER));
+        assertEquals(7, attributes.get(Position.KEY_SATELLITES));
+        assertEquals(1.1, attributes.get(Position.KEY_FUEL));
+        assertTrue(attributes.containsKey("empty"));
+        assertNull(attributes.get("empty"));
+    }
+
+    @Test
+    public void testNullFields() throws IOException {
+        BroadcastMessage message = new BroadcastMessage();
+        message.setPosition(new Position());
+        BroadcastCodec.Batch batch = codec.decode(codec.encode("node", 0, List.of(message)));
+        Position position = batch.messages().get(0).getPosition();
+        assertNull(position.getProtocol());
+        assertNull(position.getFixTime());
+        assertNull(position.getGeofenceIds());
+        assertNull(batch.messages().get(0).getUserId());
+    }
+
+    @Test
+    public void testFragments() throws IOException {
+        BroadcastMessage message = positionMessage();
+        message.getPosition().setAddress(String.join("", Collections.nCopies(5000, "a")));
+        byte[] payload = codec.encode("node", 0, List.of(message));
+
+        List<byte[]> fragments = BroadcastCodec.fragment(1, payload, 1400);
+        assertTrue(fragments.size() > 1);
+        fragments.forEach(fragment -> assertTrue(fragment.length <= 1400));
+
+        BroadcastCodec.Reassembler reassembler = new BroadcastCodec.Reassembler(10000, 10);
+        byte[] result = null;
+        for (int i = fragments.size() - 1; i >= 0; i--) {
+            byte[] fragment = fragments.get(i);
+            result = reassembler.accept(fragment, 0, fragment.length, 0);
+            if (i > 0) {
+                assertNull(result);
+            }
+        }
+        assertArrayEquals(payload, result);
+
+        reassembler.accept(fragments.get(0), 0, fragments.get(0).length, 0);
+        for (int i = 1; i < fragments.size(); i++) {
+            byte[] fragment = fragments.get(i);
+            assertNull(reassembler.accept(fragment, 0, fragment.length, 20000));
+        }
+    }
+
+}
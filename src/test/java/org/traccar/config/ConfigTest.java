@@ -1,8 +1,17 @@
 package org.traccar.config;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ConfigTest {
 
@@ -16,4 +25,47 @@ public class ConfigTest {
         assertEquals("STATUS_TIMEOUT", Config.getEnvironmentVariableName("status.timeout"));
     }
 
+    @Test
+    public void testTypedValues() {
+        Config config = new Config();
+        assertFalse(config.hasKey(Keys.FILTER_ENABLE));
+        assertTrue(config.getBoolean(Keys.FILTER_ENABLE));
+        assertEquals(86400L, config.getLong(Keys.REPORT_FAST_THRESHOLD));
+
+        config.setString(Keys.FILTER_ENABLE, "false");
+        config.setString(Keys.REPORT_FAST_THRESHOLD, "60");
+        assertTrue(config.hasKey(Keys.FILTER_ENABLE));
+        assertFalse(config.getBoolean(Keys.FILTER_ENABLE));
+        assertEquals(60L, config.getLong(Keys.REPORT_FAST_THRESHOLD));
+        assertNull(config.getString(Keys.DECODER_TIMEZONE));
+    }
+
+    private static void writeConfig(Path file, String entries) throws IOException {
+        Files.writeString(file, "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<!DOCTYPE properties SYSTEM 'http://java.sun.com/dtd/properties.dtd'>"
+                + "<properties>"
+                + "<entry key='logger.console'>true</entry>"
+                + "<entry key='logger.level'>info</entry>"
+                + entries
+                + "</properties>");
+    }
+
+    @Test
+    public void testReload(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("traccar.xml");
+        writeConfig(file, "<entry key='report.fastThreshold'>60</entry>");
+
+        Config config = new Config(file.toString());
+        AtomicInteger reloads = new AtomicInteger();
+        config.addReloadListener(reloads::incrementAndGet);
+        assertEquals(60L, config.getLong(Keys.REPORT_FAST_THRESHOLD));
+
+        writeConfig(file, "<entry key='report.fastThreshold'>120</entry>");
+        assertEquals(60L, config.getLong(Keys.REPORT_FAST_THRESHOLD));
+
+        config.reload();
+        assertEquals(120L, config.getLong(Keys.REPORT_FAST_THRESHOLD));
+        assertEquals(1, reloads.get());
+    }
+
 }
@@ -0,0 +1,113 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.traccar.ServerManager;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.command.CommandSenderManager;
+import org.traccar.model.QueuedCommand;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CommandsManagerTest {
+
+    private Storage storage;
+    private List<QueuedCommand> queue;
+    private CommandsManager commandsManager;
+
+    private QueuedCommand command(long id, long deviceId) {
+        QueuedCommand command = new QueuedCommand();
+        command.setId(id);
+        command.setDeviceId(deviceId);
+        command.setType("custom");
+        return command;
+    }
+
+    @BeforeEach
+    public void setUp() throws StorageException {
+        storage = mock(Storage.class);
+        queue = new ArrayList<>();
+        when(storage.getObjects(eq(QueuedCommand.class), any())).thenAnswer(invocation -> new ArrayList<>(queue));
+        commandsManager = new CommandsManager(
+                storage, mock(ServerManager.class), null, mock(ConnectionManager.class),
+                mock(BroadcastService.class), mock(NotificationManager.class), mock(CacheManager.class),
+                mock(CommandSenderManager.class));
+    }
+
+    @Test
+    public void testSkipUnmarkedDevice() throws StorageException {
+        assertTrue(commandsManager.readQueuedCommands(1).isEmpty());
+        verify(storage, times(1)).getObjects(eq(QueuedCommand.class), any());
+    }
+
+    @Test
+    public void testRemoteUpdate() throws StorageException {
+        queue.add(command(1, 1));
+        commandsManager.updateCommand(false, 1);
+        assertEquals(1, commandsManager.readQueuedCommands(1).size());
+
+        queue.clear();
+        commandsManager.readQueuedCommands(1);
+        verify(storage, times(2)).getObjects(eq(QueuedCommand.class), any());
+    }
+
+    @Test
+    public void testConcurrentMark() throws StorageException {
+        commandsManager.updateCommand(false, 1);
+        doAnswer(invocation -> {
+            commandsManager.updateCommand(false, 1);
+            return List.of();
+        }).when(storage).getObjects(eq(QueuedCommand.class), any());
+        commandsManager.readQueuedCommands(1);
+        commandsManager.readQueuedCommands(1);
+        verify(storage, times(3)).getObjects(eq(QueuedCommand.class), any());
+    }
+
+    @Test
+    public void testCountKeepsMark() throws StorageException {
+        queue.add(command(1, 1));
+        queue.add(command(2, 1));
+        commandsManager.updateCommand(false, 1);
+        assertEquals(2, commandsManager.readQueuedCommands(1, 2).size());
+
+        queue.clear();
+        commandsManager.readQueuedCommands(1, 2);
+        commandsManager.readQueuedCommands(1, 2);
+        verify(storage, times(3)).getObjects(eq(QueuedCommand.class), any());
+    }
+
+    @Test
+    public void testErrorKeepsMark() throws StorageException {
+        commandsManager.updateCommand(false, 1);
+        doThrow(new StorageException("error")).when(storage).getObjects(eq(QueuedCommand.class), any());
+        assertThrows(RuntimeException.class, () -> commandsManager.readQueuedCommands(1));
+        assertThrows(RuntimeException.class, () -> commandsManager.readQueuedCommands(1));
+    }
+
+    @Test
+    public void testReloadPicksUpExternalCommands() throws StorageException {
+        queue.add(command(1, 1));
+        assertTrue(commandsManager.readQueuedCommands(1).isEmpty());
+
+        commandsManager.loadPendingDevices();
+        assertEquals(1, commandsManager.readQueuedCommands(1).size());
+    }
+
+}
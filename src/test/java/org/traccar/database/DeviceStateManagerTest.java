@@ -0,0 +1,66 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Request;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class DeviceStateManagerTest {
+
+    private DeviceStateManager create(Storage storage, int delay) {
+        Config config = mock(Config.class);
+        when(config.getInteger(Keys.DATABASE_DEVICE_STATE_DELAY)).thenReturn(delay);
+        return new DeviceStateManager(config, storage);
+    }
+
+    @Test
+    public void testImmediate() throws StorageException {
+        Storage storage = mock(Storage.class);
+        Device device = new Device();
+        device.setId(1);
+
+        create(storage, 0).updateState(device, "motionState");
+
+        verify(storage).updateObject(eq(device), any());
+    }
+
+    @Test
+    public void testMerge() throws StorageException {
+        Storage storage = mock(Storage.class);
+        DeviceStateManager deviceStateManager = create(storage, 30);
+        Device device = new Device();
+        device.setId(1);
+
+        deviceStateManager.updateState(device, "motionState", "motionTime");
+        deviceStateManager.updateState(device, "motionState", "motionDistance");
+        deviceStateManager.updateState(device, "overspeedState");
+        verifyNoInteractions(storage);
+
+        deviceStateManager.flush();
+        ArgumentCaptor<Request> captor = ArgumentCaptor.forClass(Request.class);
+        verify(storage).updateObject(eq(device), captor.capture());
+        assertEquals(
+                Set.of("motionState", "motionTime", "motionDistance", "overspeedState"),
+                Set.copyOf(captor.getValue().getColumns().getColumns(Device.class, "set")));
+
+        deviceStateManager.flush(1);
+        deviceStateManager.stop();
+        verify(storage, times(1)).updateObject(any(), any());
+    }
+
+}
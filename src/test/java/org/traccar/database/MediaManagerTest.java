@@ -0,0 +1,50 @@
+package org.traccar.database;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MediaManagerTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testStopWritesQueuedFiles() throws Exception {
+        Config config = mock(Config.class);
+        when(config.getString(Keys.MEDIA_PATH)).thenReturn(directory.toString());
+        when(config.getString(Keys.MEDIA_SYNC)).thenReturn("none");
+        when(config.getInteger(Keys.MEDIA_QUEUE_SIZE)).thenReturn(1000);
+        MediaManager mediaManager = new MediaManager(config, new MetricsManager(config));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ByteBuf buf = Unpooled.wrappedBuffer(new byte[] {(byte) i});
+            names.add(mediaManager.writeFile("device" + i, buf, "bin"));
+            buf.release();
+        }
+        mediaManager.stop();
+
+        for (int i = 0; i < names.size(); i++) {
+            Path file = directory.resolve("device" + i).resolve(names.get(i));
+            assertTrue(Files.exists(file));
+            assertEquals(1, Files.size(file));
+        }
+        assertNull(mediaManager.writeFile("device", Unpooled.wrappedBuffer(new byte[1]), "bin"));
+    }
+
+}
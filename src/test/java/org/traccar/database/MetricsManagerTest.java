@@ -0,0 +1,33 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsManagerTest {
+
+    @Test
+    public void testDisabledTimer() {
+        MetricsManager metricsManager = new MetricsManager(mock(Config.class));
+        MetricsManager.Timer timer = metricsManager.timer("test_seconds");
+        assertEquals(0, timer.start());
+        timer.recordSince(timer.start());
+        assertEquals("", metricsManager.format());
+    }
+
+    @Test
+    public void testEnabledTimer() {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.METRICS_ENABLE)).thenReturn(true);
+        MetricsManager metricsManager = new MetricsManager(config);
+        MetricsManager.Timer timer = metricsManager.timer("test_seconds", "name", "value");
+        timer.recordSince(timer.start());
+        assertTrue(metricsManager.format().contains("test_seconds_count{name=\"value\"} 1"));
+    }
+
+}
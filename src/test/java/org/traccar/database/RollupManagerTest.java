@@ -0,0 +1,80 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+import org.traccar.model.Rollup;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RollupManagerTest {
+
+    private Position position(long id, long time, double speed) {
+        Position position = new Position();
+        position.setId(id);
+        position.setDeviceId(1);
+        position.setTime(new Date(time));
+        position.setSpeed(speed);
+        return position;
+    }
+
+    @Test
+    public void testStartRecalculatesLastPeriod() throws StorageException {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP)).thenReturn(true);
+
+        long start = RollupManager.floorPeriod(System.currentTimeMillis()) - RollupManager.PERIOD;
+        Rollup stored = new Rollup();
+        stored.setDeviceId(1);
+        stored.setPeriodTime(new Date(start));
+        stored.setMaxSpeed(5);
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Rollup.class), any())).thenReturn(List.of(stored));
+        when(storage.getObject(eq(Rollup.class), any())).thenReturn(stored);
+        when(storage.getObjectsStream(eq(Position.class), any())).thenReturn(Stream.of(
+                position(1, start + 1000, 5),
+                position(2, start + 2000, 30),
+                position(3, start + RollupManager.PERIOD + 1000, 10)));
+
+        new RollupManager(config, storage).start();
+
+        verify(storage).removeObject(eq(Rollup.class), any());
+        verify(storage).getObjects(eq(Rollup.class), any());
+        ArgumentCaptor<Rollup> captor = ArgumentCaptor.forClass(Rollup.class);
+        verify(storage, times(2)).addObject(captor.capture(), any());
+        Rollup first = captor.getAllValues().get(0);
+        assertEquals(start, first.getPeriodTime().getTime());
+        assertEquals(30, first.getMaxSpeed(), 0.1);
+        assertEquals(2, first.getEndPositionId());
+        assertEquals(3, captor.getAllValues().get(1).getStartPositionId());
+    }
+
+    @Test
+    public void testStartWithoutRollups() throws StorageException {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP)).thenReturn(true);
+        Storage storage = mock(Storage.class);
+
+        new RollupManager(config, storage).start();
+
+        verify(storage, never()).getObjects(any(), any());
+        verify(storage, never()).removeObject(any(), any());
+    }
+
+}
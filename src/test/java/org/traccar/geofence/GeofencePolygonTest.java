@@ -49,4 +49,22 @@ public class GeofencePolygonTest {
         assertFalse(geofenceGeometry.containsPoint(50.9477, 0.5836));
     }
 
+    @Test
+    public void testContainsLargePolygon() throws ParseException {
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = i % 2 == 0 ? 1.0 : 0.5;
+            wkt.append(i > 0 ? ", " : "");
+            wkt.append(50 + radius * Math.sin(angle)).append(' ').append(10 + radius * Math.cos(angle));
+        }
+        wkt.append("))");
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(wkt.toString());
+        assertTrue(geofenceGeometry.containsPoint(50, 10));
+        assertTrue(geofenceGeometry.containsPoint(50.4, 10.1));
+        assertFalse(geofenceGeometry.containsPoint(51.1, 10));
+        assertFalse(geofenceGeometry.containsPoint(50, 8.9));
+    }
+
 }
@@ -56,4 +56,19 @@ public class GeofencePolylineTest {
         assertFalse(geofenceGeometry.containsPoint(66.9509, -179.83));
     }
 
+    @Test
+    public void testContainsLargePolyline() throws ParseException {
+        StringBuilder wkt = new StringBuilder("LINESTRING (");
+        for (int i = 0; i < 1000; i++) {
+            wkt.append(i > 0 ? ", " : "");
+            wkt.append(55 + i * 0.001).append(' ').append(37 + (i % 2) * 0.001);
+        }
+        wkt.append(")");
+        GeofenceGeometry geofenceGeometry = new GeofencePolyline(wkt.toString(), 50);
+        assertTrue(geofenceGeometry.containsPoint(55.0005, 37.0005));
+        assertTrue(geofenceGeometry.containsPoint(55.999, 37.0003));
+        assertFalse(geofenceGeometry.containsPoint(55.5, 37.005));
+        assertFalse(geofenceGeometry.containsPoint(56.01, 37));
+    }
+
 }
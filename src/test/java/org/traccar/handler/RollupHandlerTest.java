@@ -0,0 +1,65 @@
+package org.traccar.handler;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.RollupManager;
+import org.traccar.model.Position;
+import org.traccar.model.Rollup;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RollupHandlerTest {
+
+    private static final long HOUR = 3600000;
+
+    private Position position(long id, long time, double speed) {
+        Position position = new Position();
+        position.setId(id);
+        position.setDeviceId(1);
+        position.setTime(new Date(time));
+        position.setSpeed(speed);
+        return position;
+    }
+
+    @Test
+    public void testRollup() throws StorageException {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP)).thenReturn(true);
+        Storage storage = mock(Storage.class);
+        when(storage.addObject(any(), any())).thenReturn(1L);
+        RollupManager rollupManager = new RollupManager(config, storage);
+        RollupHandler handler = new RollupHandler(rollupManager);
+
+        long start = 10 * HOUR;
+        handler.handlePosition(position(1, start + 10000, 5), p -> {});
+        handler.handlePosition(position(2, start + HOUR / 2, 20), p -> {});
+        handler.handlePosition(position(3, start + HOUR - 1000, 10), p -> {});
+        handler.handlePosition(position(4, start - HOUR, 50), p -> {});
+        rollupManager.flush();
+
+        ArgumentCaptor<Rollup> captor = ArgumentCaptor.forClass(Rollup.class);
+        verify(storage).addObject(captor.capture(), any());
+        Rollup rollup = captor.getValue();
+        assertEquals(start, rollup.getPeriodTime().getTime());
+        assertEquals(1, rollup.getStartPositionId());
+        assertEquals(3, rollup.getEndPositionId());
+        assertEquals(20, rollup.getMaxSpeed(), 0.1);
+        assertEquals(start, rollupManager.getCoverageStart(1).getTime());
+
+        handler.handlePosition(position(5, start + HOUR + 1000, 15), p -> {});
+        rollupManager.flush();
+        verify(storage, times(2)).addObject(any(), any());
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.traccar.helper;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParserTest {
+
+    private static final Pattern PATTERN = new PatternBuilder()
+            .expression("([^,]*),")
+            .expression("([^,]*),")
+            .expression("([^,]*),")
+            .expression("([^,]*),")
+            .expression("([^,]*)")
+            .compile();
+
+    @Test
+    public void testNumbers() {
+        Parser parser = new Parser(PATTERN, "-123,1F,12.345,,1e3");
+        assertTrue(parser.matches());
+        assertEquals(-123, parser.nextInt());
+        assertEquals(0x1F, parser.nextHexInt());
+        assertEquals(12.345, parser.nextDouble());
+        assertNull(parser.nextDouble());
+        assertEquals(1000.0, parser.nextDouble());
+    }
+
+    @Test
+    public void testLargeNumbers() {
+        Parser parser = new Parser(PATTERN, "9223372036854775807,FFFFFFFFFFFFFFF,0.1234567890123456789,2147483648,+7");
+        assertTrue(parser.matches());
+        assertEquals(Long.MAX_VALUE, parser.nextLong());
+        assertEquals(0xFFFFFFFFFFFFFFFL, parser.nextHexLong());
+        assertEquals(Double.parseDouble("0.1234567890123456789"), parser.nextDouble());
+        assertThrows(NumberFormatException.class, parser::nextInt);
+    }
+
+    @Test
+    public void testRadix() {
+        Parser parser = new Parser(PATTERN, "ZZZZZZZZZZZZ,ZZZZZZZZZZZZZ,,,");
+        assertTrue(parser.matches());
+        assertEquals(Long.parseLong("ZZZZZZZZZZZZ", 36), parser.nextLong(36, 0));
+        assertThrows(NumberFormatException.class, () -> parser.nextLong(36, 0));
+    }
+
+    @Test
+    public void testCoordinate() {
+        Parser parser = new Parser(PATTERN, "45,30.5,N,-12,5");
+        assertTrue(parser.matches());
+        assertEquals(45.508333, parser.nextCoordinate(Parser.CoordinateFormat.DEG_MIN_HEM), 0.000001);
+        assertEquals(-12.5, parser.nextCoordinate(Parser.CoordinateFormat.DEG_DEG), 0.000001);
+    }
+
+    @Test
+    public void testBuffer() {
+        Parser parser = new Parser(PATTERN, Unpooled.copiedBuffer("ID,7,1.5,,text", StandardCharsets.US_ASCII));
+        assertTrue(parser.matches());
+        assertEquals("ID", parser.next());
+        assertEquals(7, parser.nextInt());
+        assertEquals(1.5, parser.nextDouble());
+        assertNull(parser.nextInt());
+        assertEquals("text", parser.next());
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    @Test
+    public void testLimit() {
+        RateLimiter rateLimiter = new RateLimiter(2, 1000);
+        assertTrue(rateLimiter.tryAcquire(1000));
+        assertTrue(rateLimiter.tryAcquire(1500));
+        assertFalse(rateLimiter.tryAcquire(1999));
+        assertTrue(rateLimiter.tryAcquire(2000));
+    }
+
+    @Test
+    public void testDisabled() {
+        RateLimiter rateLimiter = new RateLimiter(0, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryAcquire(1000));
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RouteSimplifierTest {
+
+    @Test
+    public void testStraightLine() {
+        List<double[]> route = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            route.add(new double[] {60.0 + i * 0.001, 56.0});
+        }
+        var result = RouteSimplifier.simplify(route, 10);
+        assertEquals(2, result.size());
+        assertArrayEquals(route.get(0), result.get(0));
+        assertArrayEquals(route.get(100), result.get(1));
+    }
+
+    @Test
+    public void testCorner() {
+        List<double[]> route = new ArrayList<>();
+        for (int i = 0; i <= 50; i++) {
+            route.add(new double[] {60.0 + i * 0.001, 56.0});
+        }
+        for (int i = 1; i <= 50; i++) {
+            route.add(new double[] {60.05, 56.0 + i * 0.001});
+        }
+        var result = RouteSimplifier.simplify(route, 10);
+        assertEquals(3, result.size());
+        assertArrayEquals(route.get(50), result.get(1));
+    }
+
+    @Test
+    public void testDisabled() {
+        List<double[]> route = List.of(new double[] {60.0, 56.0}, new double[] {60.0, 56.0}, new double[] {60.0, 56.0});
+        assertEquals(3, RouteSimplifier.simplify(route, 0).size());
+    }
+
+}
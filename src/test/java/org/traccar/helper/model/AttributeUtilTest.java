@@ -0,0 +1,80 @@
+package org.traccar.helper.model;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.Server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class AttributeUtilTest {
+
+    private static final class TestProvider implements AttributeUtil.Provider {
+
+        private final Device device = new Device();
+        private final Group group = new Group();
+        private final AtomicInteger deviceReads = new AtomicInteger();
+
+        private TestProvider() {
+            group.setId(1);
+            device.setGroupId(1);
+        }
+
+        @Override
+        public Device getDevice() {
+            deviceReads.incrementAndGet();
+            return device;
+        }
+
+        @Override
+        public Group getGroup(long groupId) {
+            return groupId == group.getId() ? group : null;
+        }
+
+        @Override
+        public Server getServer() {
+            return new Server();
+        }
+
+        @Override
+        public Config getConfig() {
+            return mock(Config.class);
+        }
+
+    }
+
+    @Test
+    public void testLookup() {
+        TestProvider provider = new TestProvider();
+        provider.group.set(Keys.EVENT_MOTION_SPEED_THRESHOLD.getKey(), "2.5");
+        provider.device.set(Keys.REPORT_TRIP_USE_IGNITION.getKey(), "true");
+
+        assertEquals(2.5, AttributeUtil.lookup(provider, Keys.EVENT_MOTION_SPEED_THRESHOLD), 0.01);
+        assertTrue(AttributeUtil.lookup(provider, Keys.REPORT_TRIP_USE_IGNITION));
+        assertEquals(300L, AttributeUtil.lookup(provider, Keys.REPORT_TRIP_MINIMAL_TRIP_DURATION));
+    }
+
+    @Test
+    public void testResolvedAttributes() {
+        TestProvider provider = new TestProvider();
+        provider.device.set(Keys.REPORT_TRIP_MINIMAL_TRIP_DISTANCE.getKey(), "1000");
+        var attributes = new AttributeUtil.ResolvedAttributes(provider);
+
+        assertEquals(1000L, attributes.get(Keys.REPORT_TRIP_MINIMAL_TRIP_DISTANCE));
+        assertNull(attributes.get(Keys.DECODER_TIMEZONE));
+        int reads = provider.deviceReads.get();
+
+        provider.device.set(Keys.REPORT_TRIP_MINIMAL_TRIP_DISTANCE.getKey(), "2000");
+        assertEquals(1000L, attributes.get(Keys.REPORT_TRIP_MINIMAL_TRIP_DISTANCE));
+        assertNull(attributes.get(Keys.DECODER_TIMEZONE));
+        assertEquals(reads, provider.deviceReads.get());
+    }
+
+}
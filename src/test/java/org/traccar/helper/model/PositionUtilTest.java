@@ -0,0 +1,50 @@
+package org.traccar.helper.model;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Position;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PositionUtilTest {
+
+    @Test
+    public void testPositionsPage() throws StorageException {
+        Storage storage = new MemoryStorage();
+        for (int i = 0; i < 5; i++) {
+            Position position = new Position();
+            position.setId(storage.addObject(position, new Request(new Columns.Exclude("id"))));
+            position.setDeviceId(1);
+            position.setTime(new Date(i < 4 ? 1000 : 2000));
+        }
+
+        Date from = new Date(0);
+        Date to = new Date(3000);
+        long after = 0;
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            List<Position> positions;
+            try (var stream = PositionUtil.getPositionsPage(storage, 1, from, to, after, new Columns.All(), 2)) {
+                positions = stream.toList();
+            }
+            if (positions.isEmpty()) {
+                break;
+            }
+            Position last = positions.get(positions.size() - 1);
+            positions.forEach(position -> ids.add(position.getId()));
+            from = last.getFixTime();
+            after = last.getId();
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.traccar.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AttributeMapTest {
+
+    @Test
+    public void testValues() {
+        var map = new AttributeMap();
+        map.put("boolean", true);
+        map.put("integer", 42);
+        map.put("long", 1L << 40);
+        map.put("double", 12.5);
+        map.put("string", "text");
+        map.put("null", null);
+
+        assertEquals(true, map.get("boolean"));
+        assertEquals(42, map.get("integer"));
+        assertEquals(1L << 40, map.get("long"));
+        assertEquals(12.5, map.get("double"));
+        assertEquals("text", map.get("string"));
+        assertNull(map.get("null"));
+        assertTrue(map.containsKey("null"));
+        assertEquals(List.of("boolean", "integer", "long", "double", "string", "null"), List.copyOf(map.keySet()));
+
+        assertEquals(42, map.put("integer", 43.0));
+        assertEquals(43.0, map.get("integer"));
+        assertEquals(true, map.remove("boolean"));
+        assertFalse(map.containsKey("boolean"));
+        assertEquals(5, map.size());
+    }
+
+    @Test
+    public void testSharedKeys() {
+        var first = new AttributeMap();
+        var second = new AttributeMap();
+        first.put(new StringBuilder("io").append(1).toString(), 1);
+        second.put(new StringBuilder("io").append(1).toString(), 2);
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+    }
+
+    @Test
+    public void testPosition() throws Exception {
+        var position = new Position();
+        position.set(Position.KEY_SATELLITES, 7);
+        position.set(Position.KEY_IGNITION, true);
+        assertInstanceOf(AttributeMap.class, position.getAttributes());
+
+        var objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(position.getAttributes());
+        assertEquals("{\"sat\":7,\"ignition\":true}", json);
+
+        position.setAttributes(objectMapper.readValue(json, Map.class));
+        assertInstanceOf(AttributeMap.class, position.getAttributes());
+        assertEquals(7, position.getInteger(Position.KEY_SATELLITES));
+        assertTrue(position.getBoolean(Position.KEY_IGNITION));
+    }
+
+    @Test
+    public void testNullKey() {
+        var map = new AttributeMap();
+        var exception = assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertEquals("Attribute key must not be null", exception.getMessage());
+
+        var position = new Position();
+        position.setAttributes(null);
+        assertInstanceOf(AttributeMap.class, position.getAttributes());
+    }
+
+}
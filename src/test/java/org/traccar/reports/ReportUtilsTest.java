@@ -435,6 +435,34 @@ public class ReportUtilsTest extends BaseTest {
 
     }
 
+    @Test
+    public void testFullEdgePositions() throws Exception {
+
+        var data = Stream.of(
+                position(1, "2016-01-01 00:00:00.000", 7, 100),
+                position(2, "2016-01-01 00:01:00.000", 7, 300),
+                position(3, "2016-01-01 00:02:00.000", 5, 500),
+                position(4, "2016-01-01 00:03:00.000", 5, 600));
+        when(storage.getObjectsStream(eq(Position.class), any())).thenReturn(data);
+
+        Position start = position(1, "2016-01-01 00:00:00.000", 7, 100);
+        start.setAddress("start");
+        Position end = position(4, "2016-01-01 00:03:00.000", 5, 600);
+        end.setAddress("end");
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(List.of(start, end));
+
+        Device device = mockDevice(500, 200, 200, 900, false);
+        ReportUtils reportUtils = new ReportUtils(
+                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+
+        var trips = reportUtils.slowTripsAndStops(device, new Date(), new Date(), TripReportItem.class);
+
+        assertEquals(1, trips.size());
+        assertEquals("start", trips.get(0).getStartAddress());
+        assertEquals("end", trips.get(0).getEndAddress());
+        assertEquals(500, trips.get(0).getDistance(), 0.01);
+    }
+
     @Test
     public void testDetectTripByGap() throws Exception {
 
@@ -0,0 +1,165 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.BaseTest;
+import org.traccar.api.security.PermissionsService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Stop;
+import org.traccar.model.Trip;
+import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.TripsHistory;
+import org.traccar.reports.model.TripReportItem;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class TripsHistoryTest extends BaseTest {
+
+    private TripsHistory create(Storage storage, ReportUtils reportUtils, boolean enabled) {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.REPORT_TRIPS_STORE)).thenReturn(enabled);
+        return new TripsHistory(
+                config, storage, mock(PermissionsService.class), reportUtils, mock(ExecutorService.class));
+    }
+
+    @Test
+    public void testDisabled() throws StorageException {
+        Storage storage = mock(Storage.class);
+        ReportUtils reportUtils = mock(ReportUtils.class);
+        Device device = new Device();
+        Date from = new Date(0);
+        Date to = new Date(3600000);
+
+        create(storage, reportUtils, false).getTripsAndStops(device, from, to, TripReportItem.class);
+
+        verify(reportUtils).detectTripsAndStops(device, from, to, TripReportItem.class);
+        verifyNoInteractions(storage);
+    }
+
+    private Trip trip(long start, long end) {
+        Trip trip = new Trip();
+        trip.setDeviceId(1);
+        trip.setStartTime(new Date(start));
+        trip.setEndTime(new Date(end));
+        trip.setDistance(5000);
+        return trip;
+    }
+
+    @Test
+    public void testStored() throws StorageException {
+        Trip trip = trip(600000, 1200000);
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Trip.class), any())).thenReturn(List.of(trip));
+        ReportUtils reportUtils = mock(ReportUtils.class);
+
+        Device device = new Device();
+        device.setId(1);
+        device.setName("test");
+
+        var trips = create(storage, reportUtils, true).getTripsAndStops(
+                device, trip.getStartTime(), trip.getEndTime(), TripReportItem.class);
+
+        assertEquals(1, trips.size());
+        assertEquals("test", trips.get(0).getDeviceName());
+        assertEquals(5000, trips.get(0).getDistance(), 0.01);
+        verifyNoInteractions(reportUtils);
+    }
+
+    @Test
+    public void testOpenPeriod() throws StorageException {
+        Trip trip = trip(600000, 1200000);
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Trip.class), any())).thenReturn(List.of(trip));
+        ReportUtils reportUtils = mock(ReportUtils.class);
+        when(reportUtils.detectTripsAndStops(any(), any(), any(), eq(TripReportItem.class)))
+                .thenReturn(List.of(new TripReportItem()));
+
+        Device device = new Device();
+        device.setId(1);
+        Date to = new Date(3600000);
+
+        var trips = create(storage, reportUtils, true).getTripsAndStops(
+                device, trip.getStartTime(), to, TripReportItem.class);
+
+        assertEquals(2, trips.size());
+        verify(reportUtils).detectTripsAndStops(device, trip.getEndTime(), to, TripReportItem.class);
+    }
+
+    @Test
+    public void testPartialHistory() throws StorageException {
+        Trip trip = trip(600000, 1200000);
+        Stop stop = new Stop();
+        stop.setDeviceId(1);
+        stop.setStartTime(new Date(1200000));
+        stop.setEndTime(new Date(1800000));
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Trip.class), any())).thenReturn(List.of(trip));
+        when(storage.getObjects(eq(Stop.class), any())).thenReturn(List.of(stop));
+        ReportUtils reportUtils = mock(ReportUtils.class);
+        TripReportItem early = new TripReportItem();
+        when(reportUtils.detectTripsAndStops(any(), any(), any(), eq(TripReportItem.class)))
+                .thenReturn(List.of(early));
+
+        Device device = new Device();
+        device.setId(1);
+        Date from = new Date(0);
+        Date to = new Date(1800000);
+
+        var trips = create(storage, reportUtils, true).getTripsAndStops(device, from, to, TripReportItem.class);
+
+        assertEquals(2, trips.size());
+        assertSame(early, trips.get(0));
+        assertEquals(trip.getStartTime(), trips.get(1).getStartTime());
+        verify(reportUtils).detectTripsAndStops(device, from, trip.getStartTime(), TripReportItem.class);
+        verify(reportUtils, never()).detectTripsAndStops(
+                eq(device), eq(stop.getEndTime()), any(), eq(TripReportItem.class));
+    }
+
+    @Test
+    public void testHole() throws StorageException {
+        Trip first = trip(600000, 1200000);
+        Trip second = trip(2400000, 3000000);
+        Stop stop = new Stop();
+        stop.setDeviceId(1);
+        stop.setStartTime(new Date(1200000));
+        stop.setEndTime(new Date(1800000));
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(Trip.class), any())).thenReturn(List.of(first, second));
+        when(storage.getObjects(eq(Stop.class), any())).thenReturn(List.of(stop));
+        ReportUtils reportUtils = mock(ReportUtils.class);
+        TripReportItem missing = new TripReportItem();
+        when(reportUtils.detectTripsAndStops(any(), any(), any(), eq(TripReportItem.class)))
+                .thenReturn(List.of(missing));
+
+        Device device = new Device();
+        device.setId(1);
+
+        var trips = create(storage, reportUtils, true).getTripsAndStops(
+                device, first.getStartTime(), second.getEndTime(), TripReportItem.class);
+
+        assertEquals(3, trips.size());
+        assertEquals(first.getStartTime(), trips.get(0).getStartTime());
+        assertSame(missing, trips.get(1));
+        assertEquals(second.getStartTime(), trips.get(2).getStartTime());
+        verify(reportUtils).detectTripsAndStops(
+                device, stop.getEndTime(), second.getStartTime(), TripReportItem.class);
+    }
+
+}
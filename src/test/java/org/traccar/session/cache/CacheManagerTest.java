@@ -0,0 +1,77 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.database.DeviceStateManager;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.model.Server;
+import org.traccar.storage.Storage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CacheManagerTest {
+
+    @Test
+    public void testWarmUp() throws Exception {
+        Position position = new Position();
+        position.setId(10);
+        position.setDeviceId(1);
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObject(eq(Server.class), any())).thenReturn(new Server());
+        when(storage.getObjects(eq(Position.class), any())).thenReturn(List.of(position));
+
+        CacheManager cacheManager = new CacheManager(
+                mock(Config.class), storage, mock(BroadcastService.class), mock(DeviceStateManager.class));
+
+        Device device = new Device();
+        device.setId(1);
+        device.setPositionId(10);
+        cacheManager.warmUp(List.of(device));
+        cacheManager.finishWarmUp();
+
+        assertNotNull(cacheManager.getObject(Device.class, 1));
+        assertEquals(10, cacheManager.getPosition(1).getId());
+
+        cacheManager.addDevice(1, "connection");
+        verify(storage, never()).getObject(eq(Device.class), any());
+
+        cacheManager.removeDevice(1, "connection");
+        assertNull(cacheManager.getObject(Device.class, 1));
+    }
+
+    @Test
+    public void testWarmUpExpiration() throws Exception {
+        Storage storage = mock(Storage.class);
+        when(storage.getObject(eq(Server.class), any())).thenReturn(new Server());
+
+        CacheManager cacheManager = new CacheManager(
+                mock(Config.class), storage, mock(BroadcastService.class), mock(DeviceStateManager.class));
+
+        Device connected = new Device();
+        connected.setId(1);
+        Device idle = new Device();
+        idle.setId(2);
+        cacheManager.warmUp(List.of(connected, idle));
+        cacheManager.finishWarmUp();
+
+        cacheManager.addDevice(1, "connection");
+        cacheManager.expireWarmUp();
+
+        assertNotNull(cacheManager.getObject(Device.class, 1));
+        assertNull(cacheManager.getObject(Device.class, 2));
+    }
+
+}
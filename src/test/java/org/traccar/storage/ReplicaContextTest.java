@@ -0,0 +1,49 @@
+package org.traccar.storage;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.User;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaContextTest {
+
+    @Test
+    public void testNested() {
+        assertFalse(ReplicaContext.isActive());
+        ReplicaContext.enter();
+        ReplicaContext.enter();
+        assertTrue(ReplicaContext.isActive());
+        ReplicaContext.exit();
+        assertTrue(ReplicaContext.isActive());
+        ReplicaContext.exit();
+        assertFalse(ReplicaContext.isActive());
+    }
+
+    @Test
+    public void testPrimaryStorage() throws StorageException {
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(User.class), any())).thenAnswer(invocation -> {
+            assertFalse(ReplicaContext.isActive());
+            return List.of();
+        });
+
+        ReplicaContext.enter();
+        try {
+            new PrimaryStorage(storage).getObjects(User.class, new Request(new Columns.All()));
+            assertTrue(ReplicaContext.isActive());
+        } finally {
+            ReplicaContext.exit();
+        }
+        assertFalse(ReplicaContext.isActive());
+    }
+
+}
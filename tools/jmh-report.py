@@ -0,0 +1,47 @@
+#!/usr/bin/env python3
+
+# Summarize decoder benchmark results, optionally comparing with a baseline:
+#   ./gradlew jmh -PjmhIncludes=DecoderBenchmark
+#   tools/jmh-report.py build/results/jmh/results.json [baseline.json]
+
+import json
+import sys
+
+
+def load(path):
+    result = {}
+    with open(path) as file:
+        for entry in json.load(file):
+            if not entry["benchmark"].endswith("DecoderBenchmark.decode"):
+                continue
+            protocol = entry["params"]["protocol"]
+            frame_ns = entry["primaryMetric"]["score"]
+            secondary = entry.get("secondaryMetrics", {})
+            position_ns = secondary.get("positions", {}).get("score", frame_ns)
+            frame_bytes = secondary.get("gc.alloc.rate.norm", {}).get("score")
+            position_bytes = frame_bytes * position_ns / frame_ns if frame_bytes is not None else None
+            result[protocol] = {
+                "nsPerPosition": round(position_ns, 1),
+                "bytesPerPosition": round(position_bytes) if position_bytes is not None else None,
+            }
+    return result
+
+
+def change(current, baseline):
+    if current is None or not baseline:
+        return ""
+    return "%+.1f%%" % ((current - baseline) * 100.0 / baseline)
+
+
+current = load(sys.argv[1])
+baseline = load(sys.argv[2]) if len(sys.argv) > 2 else {}
+
+for protocol, values in sorted(current.items()):
+    base = baseline.get(protocol, {})
+    values["nsChange"] = change(values["nsPerPosition"], base.get("nsPerPosition"))
+    values["bytesChange"] = change(values["bytesPerPosition"], base.get("bytesPerPosition"))
+    print("%-12s %10s ns %7s %10s B %7s" % (
+        protocol, values["nsPerPosition"], values["nsChange"], values["bytesPerPosition"], values["bytesChange"]))
+
+with open("decoder-report.json", "w") as file:
+    json.dump(current, file, indent=2, sort_keys=True)